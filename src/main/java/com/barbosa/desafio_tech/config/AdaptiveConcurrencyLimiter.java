@@ -0,0 +1,87 @@
+package com.barbosa.desafio_tech.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência AIMD guiado pela latência. A referência é a menor latência observada na janela anterior de
+ * amostras: quando uma chamada demora mais que {@code tolerance} vezes essa referência e mais que
+ * {@code latencyFloorNanos} (ou falha por falta de conexão), o limite é multiplicado por {@code backoffRatio}; caso
+ * contrário, e se o limite estiver sendo usado, cresce uma unidade. Quem chega com o limite esgotado é recusado na hora, sem fila.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int windowSize;
+    private final long latencyFloorNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double backoffRatio, int windowSize, long latencyFloorNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limites inválidos: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowSize = windowSize;
+        this.latencyFloorNanos = latencyFloorNanos;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga obtida em {@link #tryAcquire()} e ajusta o limite com a latência da chamada.
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        adjust(latencyNanos, overloaded, inFlightAtRelease);
+    }
+
+    private synchronized void adjust(long latencyNanos, boolean overloaded, int inFlightAtRelease) {
+        windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+        if (baselineNanos == Long.MAX_VALUE) {
+            baselineNanos = latencyNanos;
+        }
+        if (++windowSamples >= windowSize) {
+            baselineNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        boolean slow = latencyNanos > latencyFloorNanos && latencyNanos > baselineNanos * tolerance;
+        if (overloaded || slow) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlightAtRelease * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
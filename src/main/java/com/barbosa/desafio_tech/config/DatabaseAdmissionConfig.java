@@ -0,0 +1,44 @@
+package com.barbosa.desafio_tech.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Aplica o {@link DatabaseAdmissionControl} aos pontos de entrada no banco: métodos {@code @Transactional} e
+ * repositórios do Spring Data. O advisor roda antes da abertura da transação, então uma requisição recusada não chega
+ * a pedir conexão ao Hikari. As alterações de carteira são admitidas pelo próprio {@code WalletMutationExecutor}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseAdmissionConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor databaseAdmissionAdvisor(ObjectProvider<DatabaseAdmissionControl> admissionControl) {
+        // resolvido na primeira chamada para não inicializar o MeterRegistry junto com a infraestrutura de AOP
+        SingletonSupplier<DatabaseAdmissionControl> control = SingletonSupplier.of(admissionControl::getObject);
+        MethodInterceptor interceptor = invocation -> control.obtain().invoke(invocation);
+
+        ComposablePointcut entryPoints = new ComposablePointcut(new AnnotationMatchingPointcut(Transactional.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Transactional.class))
+                .union(new ComposablePointcut(new RootClassFilter(Repository.class)));
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(entryPoints, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
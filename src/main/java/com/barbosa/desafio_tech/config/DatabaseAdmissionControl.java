@@ -0,0 +1,144 @@
+package com.barbosa.desafio_tech.config;
+
+import com.barbosa.desafio_tech.domain.service.serviceException.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Controle de admissão na frente do pool JDBC, com um limite adaptativo para leituras e outro para alterações de
+ * carteira. Só a chamada mais externa de cada thread ocupa vaga; as chamadas aninhadas (repositórios dentro de um
+ * método {@code @Transactional}, por exemplo) passam direto. O {@code WalletMutationExecutor} chama
+ * {@link #admit(Budget, Supplier)} já com o lock do usuário, para que a espera pelo lock não ocupe vaga.
+ * <p>
+ * Os dois tetos dividem o pool do Hikari: a carteira reserva {@code app.limiter.wallet.pool-share} das conexões e as
+ * leituras ficam com o restante, de modo que os limites somados nunca passem de {@code maximum-pool-size}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseAdmissionControl implements MethodInterceptor {
+
+    public enum Budget {
+        READ, WALLET
+    }
+
+    private static final ThreadLocal<Boolean> ADMITTED = new ThreadLocal<>();
+
+    private final Map<Budget, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Budget.class);
+    private final Map<Budget, Counter> rejections = new EnumMap<>(Budget.class);
+    private final Map<Method, Budget> budgets = new ConcurrentHashMap<>();
+    private final Duration retryAfter;
+
+    public DatabaseAdmissionControl(MeterRegistry meterRegistry,
+                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                    @Value("${app.limiter.wallet.pool-share:0.5}") double walletPoolShare,
+                                    @Value("${app.limiter.min-limit:1}") int minLimit,
+                                    @Value("${app.limiter.tolerance:2.0}") double tolerance,
+                                    @Value("${app.limiter.backoff-ratio:0.9}") double backoffRatio,
+                                    @Value("${app.limiter.window:100}") int window,
+                                    @Value("${app.limiter.latency-floor:PT0.05S}") Duration latencyFloor,
+                                    @Value("${app.limiter.retry-after:PT1S}") Duration retryAfter) {
+        this.retryAfter = retryAfter;
+        int walletMaxLimit = Math.clamp(Math.round(poolSize * walletPoolShare), minLimit,
+                Math.max(poolSize - minLimit, minLimit));
+        int readMaxLimit = Math.max(poolSize - walletMaxLimit, minLimit);
+        Map<Budget, Integer> maxLimits = Map.of(Budget.READ, readMaxLimit, Budget.WALLET, walletMaxLimit);
+        for (Budget budget : Budget.values()) {
+            int maxLimit = maxLimits.get(budget);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(maxLimit / 2, minLimit, maxLimit,
+                    tolerance, backoffRatio, window, latencyFloor.toNanos());
+            limiters.put(budget, limiter);
+            String tag = budget.name().toLowerCase();
+            Gauge.builder("db.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Limite atual de chamadas simultâneas ao banco")
+                    .tag("budget", tag)
+                    .register(meterRegistry);
+            Gauge.builder("db.limiter.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Chamadas ao banco em andamento")
+                    .tag("budget", tag)
+                    .register(meterRegistry);
+            rejections.put(budget, Counter.builder("db.limiter.rejected")
+                    .description("Chamadas recusadas por falta de vaga no limite")
+                    .tag("budget", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @FunctionalInterface
+    private interface DatabaseCall<T, E extends Throwable> {
+        T run() throws E;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (ADMITTED.get() != null) {
+            return invocation.proceed();
+        }
+        Budget budget = budgets.computeIfAbsent(invocation.getMethod(), method -> budgetFor(method, invocation.getThis()));
+        return admitted(budget, invocation::proceed);
+    }
+
+    public <T> T admit(Budget budget, Supplier<T> call) {
+        if (ADMITTED.get() != null) {
+            return call.get();
+        }
+        return admitted(budget, call::get);
+    }
+
+    private <T, E extends Throwable> T admitted(Budget budget, DatabaseCall<T, E> call) throws E {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(budget);
+        if (!limiter.tryAcquire()) {
+            rejections.get(budget).increment();
+            throw new ServiceOverloadedException(budget.name(), retryAfter);
+        }
+
+        ADMITTED.set(Boolean.TRUE);
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return call.run();
+        } catch (Throwable ex) {
+            overloaded = isPoolExhausted(ex);
+            throw ex;
+        } finally {
+            ADMITTED.remove();
+            limiter.release(System.nanoTime() - start, overloaded);
+        }
+    }
+
+    private static Budget budgetFor(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(specificMethod, Transactional.class);
+        if (transactional == null) {
+            transactional = AnnotatedElementUtils.findMergedAnnotation(targetClass, Transactional.class);
+        }
+        return transactional == null || transactional.readOnly() ? Budget.READ : Budget.WALLET;
+    }
+
+    private static boolean isPoolExhausted(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException || cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
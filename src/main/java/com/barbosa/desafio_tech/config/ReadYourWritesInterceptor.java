@@ -0,0 +1,63 @@
+package com.barbosa.desafio_tech.config;
+
+import com.barbosa.desafio_tech.domain.service.UserDataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Depois de uma alteração confirmada para um usuário, as requisições desse usuário leem do primário durante
+ * {@code window}, para não enxergar uma réplica que ainda não aplicou a escrita.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final Cache<Long, Boolean> recentWrites;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @TransactionalEventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        recentWrites.put(event.userId(), Boolean.TRUE);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = userId(request);
+        ReplicaDataSourceRouter.usePrimary(userId != null && recentWrites.getIfPresent(userId) != null);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaDataSourceRouter.usePrimary(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long userId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return null;
+        }
+        String value = variables.get("userId");
+        if (value == null && request.getRequestURI().startsWith("/api/users/")) {
+            value = variables.get("id");
+        }
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.barbosa.desafio_tech.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Destino das transações somente leitura: distribui as conexões entre as réplicas em round-robin, ignorando as que
+ * estão atrasadas além de {@code maxLag} ou inacessíveis. Sem réplica disponível, ou quando a requisição atual
+ * precisa ler as próprias escritas, usa o primário.
+ * <p>
+ * A medição de atraso roda numa thread própria, fora do agendador compartilhado, onde jobs longos a atrasariam.
+ * Uma réplica sem medição bem-sucedida há mais de duas vezes {@code checkInterval} também sai das leituras.
+ */
+@Slf4j
+public class ReplicaDataSourceRouter extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+
+    public ReplicaDataSourceRouter(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                   Duration checkInterval, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.lagQuery = lagQuery;
+    }
+
+    public void start() {
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public static void usePrimary(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(Boolean.TRUE);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    /**
+     * Executa {@code read} lendo do primário e depois restaura a escolha anterior da thread. Usado por quem guarda o
+     * resultado em cache: uma leitura de réplica atrasada ficaria armazenada além da janela de read-your-writes.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    public List<Double> replicaLagSeconds() {
+        return replicas.stream().map(replica -> replica.lagSeconds).toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    DataSource select() {
+        if (Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return primary;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        long staleBefore = System.nanoTime() - checkInterval.multipliedBy(2).toNanos();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available && replica.checkedAt - staleBefore > 0) {
+                return replica.dataSource;
+            }
+        }
+        return primary;
+    }
+
+    void checkLag() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                replica.lagSeconds = result.next() ? result.getDouble(1) : 0;
+                replica.available = replica.lagSeconds * 1000 <= maxLag.toMillis();
+                replica.checkedAt = System.nanoTime();
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+            }
+            if (wasAvailable != replica.available) {
+                log.warn("Réplica {} {} (atraso: {}s)", i, replica.available ? "voltou a receber leituras" : "removida das leituras", replica.lagSeconds);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        lagChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile long checkedAt;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -6,9 +6,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig implements WebMvcConfigurer {
@@ -22,6 +27,12 @@ public class WebClientConfig implements WebMvcConfigurer {
     @Value("${fortnite.api.key:}")
     private String fortniteApiKey;
 
+    @Value("${fortnite.api.max-connections:50}")
+    private int fortniteMaxConnections;
+
+    @Value("${fortnite.api.pending-acquire-timeout:PT5S}")
+    private Duration fortnitePendingAcquireTimeout;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -35,8 +46,13 @@ public class WebClientConfig implements WebMvcConfigurer {
     @Bean
     public WebClient fortniteWebClient() {
         int maxInMemorySize = 16 * 1024 * 1024; // 16 MB
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("fortnite-api")
+                .maxConnections(fortniteMaxConnections)
+                .pendingAcquireTimeout(fortnitePendingAcquireTimeout)
+                .build();
         WebClient.Builder builder = WebClient.builder()
                 .baseUrl(fortniteApiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .exchangeStrategies(org.springframework.web.reactive.function.client.ExchangeStrategies.builder()
@@ -1,8 +1,12 @@
 package com.barbosa.desafio_tech.controller;
 
+import com.barbosa.desafio_tech.domain.catalog.CatalogETag;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
 import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import com.barbosa.desafio_tech.domain.dto.CosmeticLookupDTO;
 import com.barbosa.desafio_tech.domain.service.ComesticService;
+import com.barbosa.desafio_tech.domain.service.CosmeticLookupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,59 +14,129 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Com {@code app.catalog.reactive.enabled=true} os {@code Mono} são devolvidos ao Spring MVC, que libera a thread do
+ * servlet enquanto a API do Fortnite responde. Desligado (padrão), a thread da requisição aguarda o resultado,
+ * como antes.
+ */
 @RestController
 @RequestMapping("/api/cosmetics")
-@RequiredArgsConstructor
 @Tag(name = "Cosméticos", description = "API para consulta de cosméticos do Fortnite")
 public class ComesticController {
 
     private final ComesticService comesticService;
+    private final CosmeticLookupService cosmeticLookupService;
+    private final boolean reactive;
+
+    public ComesticController(ComesticService comesticService,
+                              CosmeticLookupService cosmeticLookupService,
+                              @Value("${app.catalog.reactive.enabled:false}") boolean reactive) {
+        this.comesticService = comesticService;
+        this.cosmeticLookupService = cosmeticLookupService;
+        this.reactive = reactive;
+    }
 
     @Operation(summary = "Listar todos os cosméticos", description = "Retorna uma lista paginada de cosméticos com filtros opcionais")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de cosméticos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Página inalterada desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping
-    public ResponseEntity<Page<ComesticDTO>> allCosmetics(
+    public Mono<ResponseEntity<Page<ComesticDTO>>> allCosmetics(
             @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
-            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO) {
-        Page<ComesticDTO> cosmetics = comesticService.listAll(pageable, filterDTO);
-        return ResponseEntity.ok(cosmetics);
+            @Parameter(description = "Filtros opcionais (name, type, rarity, isNew, isOnSale)") ComesticFilterDTO filterDTO,
+            WebRequest request) {
+        return conditional(request, snapshot -> comesticService.etagForAll(snapshot, pageable, filterDTO),
+                snapshot -> comesticService.listAll(snapshot, pageable, filterDTO));
     }
 
     @Operation(summary = "Listar cosméticos novos", description = "Retorna uma lista paginada de cosméticos recém-lançados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de cosméticos novos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Página inalterada desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/new")
-    public ResponseEntity<Page<ComesticDTO>> newCosmetics(
-            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable) {
-        Page<ComesticDTO> cosmetics = comesticService.listNew(pageable);
-        return ResponseEntity.ok(cosmetics);
+    public Mono<ResponseEntity<Page<ComesticDTO>>> newCosmetics(
+            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
+            WebRequest request) {
+        return conditional(request, snapshot -> comesticService.etagForNew(snapshot, pageable),
+                snapshot -> comesticService.listNew(snapshot, pageable));
     }
 
     @Operation(summary = "Listar cosméticos da loja", description = "Retorna uma lista paginada de cosméticos disponíveis na loja do Fortnite")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de cosméticos da loja retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Página inalterada desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/shop")
-    public ResponseEntity<Page<ComesticDTO>> shopCosmetics(
-            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable) {
-        Page<ComesticDTO> cosmetics = comesticService.listShop(pageable);
-        return ResponseEntity.ok(cosmetics);
+    public Mono<ResponseEntity<Page<ComesticDTO>>> shopCosmetics(
+            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable,
+            WebRequest request) {
+        return conditional(request, snapshot -> comesticService.etagForShop(snapshot, pageable),
+                snapshot -> comesticService.listShop(snapshot, pageable));
+    }
+
+    @Operation(summary = "Buscar cosméticos por IDs", description = "Retorna os cosméticos encontrados para a lista de IDs informada, na ordem da requisição")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cosméticos encontrados retornados com sucesso"),
+            @ApiResponse(responseCode = "422", description = "Lista de IDs vazia ou maior que o permitido")
+    })
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<List<ComesticDTO>>> lookupCosmetics(
+            @Parameter(description = "IDs dos cosméticos (Fortnite ID)", required = true)
+            @Valid @RequestBody CosmeticLookupDTO lookupDTO) {
+        return dispatch(cosmeticLookupService.lookup(lookupDTO.getIds())
+                .map(ResponseEntity::ok));
     }
 
+    /**
+     * Responde 304 quando o If-None-Match (ou If-Modified-Since) ainda vale para o catálogo atual, sem filtrar nem
+     * serializar a página; caso contrário executa a consulta e devolve os mesmos validadores.
+     */
+    private <T> Mono<ResponseEntity<T>> conditional(WebRequest request,
+                                                    Function<CatalogSnapshot, Optional<CatalogETag>> validators,
+                                                    Function<CatalogSnapshot, T> body) {
+        return dispatch(comesticService.snapshot().<ResponseEntity<T>>map(snapshot -> {
+            Optional<CatalogETag> validator = validators.apply(snapshot);
+            if (validator.isEmpty()) {
+                return ResponseEntity.ok(body.apply(snapshot));
+            }
+            CatalogETag etag = validator.get();
+            if (request.checkNotModified(etag.etag(), etag.lastModified().toEpochMilli())) {
+                // checkNotModified já gravou ETag e Last-Modified na resposta
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag.etag())
+                    .lastModified(etag.lastModified())
+                    .body(body.apply(snapshot));
+        }));
+    }
+
+    private <T> Mono<T> dispatch(Mono<T> pipeline) {
+        return reactive ? pipeline : Mono.justOrEmpty(pipeline.block());
+    }
 }
@@ -0,0 +1,80 @@
+package com.barbosa.desafio_tech.controller;
+
+import com.barbosa.desafio_tech.domain.dto.ExportFormat;
+import com.barbosa.desafio_tech.domain.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Exportações", description = "Exportação em streaming do extrato e do inventário em NDJSON ou CSV")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Operation(summary = "Exportar extrato do usuário", description = "Envia todas as transações do usuário em streaming, da mais antiga para a mais recente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @GetMapping("/users/{userId}/exports/transactions")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId,
+            @Parameter(description = "Formato do arquivo (NDJSON ou CSV)", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return attachment("transactions-user-" + userId, format, exportService.exportTransactions(userId, format));
+    }
+
+    @Operation(summary = "Exportar inventário do usuário", description = "Envia todos os cosméticos do usuário (ativos e reembolsados) em streaming")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @GetMapping("/users/{userId}/exports/cosmetics")
+    public ResponseEntity<StreamingResponseBody> exportCosmetics(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId,
+            @Parameter(description = "Formato do arquivo (NDJSON ou CSV)", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return attachment("cosmetics-user-" + userId, format, exportService.exportCosmetics(userId, format));
+    }
+
+    @Operation(summary = "Exportar transações de todos os usuários", description = "Uso administrativo: envia todas as transações em streaming")
+    @GetMapping("/api/admin/exports/transactions")
+    public ResponseEntity<StreamingResponseBody> exportAllTransactions(
+            @Parameter(description = "Formato do arquivo (NDJSON ou CSV)", example = "CSV")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return attachment("transactions", format, exportService.exportAllTransactions(format));
+    }
+
+    @Operation(summary = "Exportar inventário de todos os usuários", description = "Uso administrativo: envia todos os cosméticos de usuários em streaming")
+    @GetMapping("/api/admin/exports/cosmetics")
+    public ResponseEntity<StreamingResponseBody> exportAllCosmetics(
+            @Parameter(description = "Formato do arquivo (NDJSON ou CSV)", example = "CSV")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return attachment("cosmetics", format, exportService.exportAllCosmetics(format));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -1,8 +1,12 @@
 package com.barbosa.desafio_tech.controller;
 
+import com.barbosa.desafio_tech.domain.dto.CartCheckoutDTO;
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.LedgerPageDTO;
+import com.barbosa.desafio_tech.domain.dto.TransactionDTO;
 import com.barbosa.desafio_tech.domain.dto.UserDTO;
-import com.barbosa.desafio_tech.domain.entities.Transaction;
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
+import com.barbosa.desafio_tech.domain.service.IdempotencyService;
 import com.barbosa.desafio_tech.domain.service.TransactionsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,10 +15,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,7 +30,11 @@ import java.util.List;
 @Tag(name = "Transações", description = "API para gerenciamento de transações de compra e reembolso de cosméticos")
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final TransactionsService transactionsService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "Comprar cosmético", description = "Realiza a compra de um cosmético para o usuário")
     @ApiResponses(value = {
@@ -37,9 +48,31 @@ public class TransactionController {
             @Parameter(description = "ID do usuário", required = true, example = "1")
             @PathVariable Long userId,
             @Parameter(description = "Dados do cosmético a ser comprado", required = true)
-            @RequestBody ComesticDTO cosmetic) {
-        UserDTO result = transactionsService.purchaseCosmetic(userId, cosmetic);
-        return ResponseEntity.ok(result);
+            @RequestBody ComesticDTO cosmetic,
+            @Parameter(description = "Chave para repetir a requisição sem aplicar a compra duas vezes")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return respond(idempotencyService.execute(userId, idempotencyKey, "PURCHASE", cosmetic,
+                () -> transactionsService.purchaseCosmetic(userId, cosmetic)));
+    }
+
+    @Operation(summary = "Finalizar carrinho", description = "Compra vários cosméticos em uma única operação, debitando o valor total de uma vez")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Compra realizada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+            @ApiResponse(responseCode = "400", description = "Saldo insuficiente, item repetido ou já possuído"),
+            @ApiResponse(responseCode = "422", description = "Carrinho vazio ou maior que o permitido")
+    })
+    @PostMapping("/checkout")
+    public ResponseEntity<UserDTO> checkout(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId,
+            @Parameter(description = "Itens do carrinho", required = true)
+            @Valid @RequestBody CartCheckoutDTO cart,
+            @Parameter(description = "Chave para repetir a requisição sem aplicar a compra duas vezes")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return respond(idempotencyService.execute(userId, idempotencyKey, "CHECKOUT", cart,
+                () -> transactionsService.checkout(userId, cart.getItems())));
     }
 
     @Operation(summary = "Reembolsar cosmético", description = "Realiza o reembolso de um cosmético comprado pelo usuário")
@@ -56,9 +89,12 @@ public class TransactionController {
             @Parameter(description = "ID do cosmético a ser reembolsado", required = true, example = "cosmetic-123")
             @PathVariable String cosmeticId,
             @Parameter(description = "Quantidade a ser reembolsada (opcional, padrão: 1)", example = "1")
-            @RequestParam(required = false) Integer amount) {
-        UserDTO result = transactionsService.refundCosmetic(userId, cosmeticId, amount);
-        return ResponseEntity.ok(result);
+            @RequestParam(required = false) Integer amount,
+            @Parameter(description = "Chave para repetir a requisição sem aplicar o reembolso duas vezes")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return respond(idempotencyService.execute(userId, idempotencyKey, "REFUND",
+                new RefundRequest(cosmeticId, amount),
+                () -> transactionsService.refundCosmetic(userId, cosmeticId, amount)));
     }
 
     @Operation(summary = "Listar transações", description = "Retorna todas as transações de um usuário")
@@ -67,13 +103,38 @@ public class TransactionController {
             @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
     })
     @GetMapping
-    public ResponseEntity<List<Transaction>> listTransactions(
+    public ResponseEntity<List<TransactionDTO>> listTransactions(
             @Parameter(description = "ID do usuário", required = true, example = "1")
             @PathVariable Long userId) {
-        List<Transaction> transactions = transactionsService.listTransactions(userId);
+        List<TransactionDTO> transactions = transactionsService.listTransactions(userId);
         return ResponseEntity.ok(transactions);
     }
 
+    @Operation(summary = "Extrato paginado", description = "Retorna as transações do usuário da mais recente para a mais antiga, paginadas por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página do extrato retornada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LedgerPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @GetMapping("/ledger")
+    public ResponseEntity<LedgerPageDTO> listLedger(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId,
+            @Parameter(description = "Cursor retornado em nextCursor pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (máximo 200)", example = "50")
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Tipos de transação", example = "PURCHASE")
+            @RequestParam(required = false) List<Type> type,
+            @Parameter(description = "Data/hora inicial (inclusive)", example = "2025-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Data/hora final (inclusive)", example = "2025-12-31T23:59:59")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LedgerPageDTO page = transactionsService.listLedger(userId, cursor, size, type, from, to);
+        return ResponseEntity.ok(page);
+    }
+
     @Operation(summary = "Consultar saldo", description = "Retorna o saldo atual de V-Bucks do usuário")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Saldo retornado com sucesso"),
@@ -86,4 +147,15 @@ public class TransactionController {
         Integer balance = transactionsService.getBalance(userId);
         return ResponseEntity.ok(balance);
     }
+
+    private record RefundRequest(String cosmeticId, Integer amount) {
+    }
+
+    private ResponseEntity<UserDTO> respond(IdempotencyService.Outcome outcome) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (outcome.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(outcome.body());
+    }
 }
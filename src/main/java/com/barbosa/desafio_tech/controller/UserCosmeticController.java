@@ -2,6 +2,7 @@ package com.barbosa.desafio_tech.controller;
 
 import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
 import com.barbosa.desafio_tech.domain.service.UserCosmeticService;
+import com.barbosa.desafio_tech.domain.service.UserInventorySearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +16,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users/{userId}/cosmetics")
 @RequiredArgsConstructor
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserCosmeticController {
 
     private final UserCosmeticService userCosmeticService;
+    private final UserInventorySearchService userInventorySearchService;
 
     @Operation(summary = "Listar cosméticos do usuário", description = "Retorna uma lista paginada de todos os cosméticos possuídos por um usuário")
     @ApiResponses(value = {
@@ -69,21 +73,36 @@ public class UserCosmeticController {
         return ResponseEntity.ok(cosmetic);
     }
 
-    @Operation(summary = "Buscar cosmético por nome", description = "Busca um cosmético do usuário pelo nome (busca parcial)")
+    @Operation(summary = "Buscar cosmético por nome", description = "Retorna o cosmético ativo do usuário que melhor corresponde ao nome (busca parcial)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cosmético encontrado com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserCosmeticDTO.class))),
-            @ApiResponse(responseCode = "404", description = "Cosmético não encontrado")
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
     })
     @GetMapping("/search")
     public ResponseEntity<UserCosmeticDTO> findNameLike(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId,
             @Parameter(description = "Nome do cosmético para busca (busca parcial)", required = true, example = "skin")
-            @RequestParam String name,
-            @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable) {
-        Page<UserCosmeticDTO> cosmetics = userCosmeticService.findByFirstnameLike(name, pageable);
-        return ResponseEntity.ok().body(cosmetics.getContent()
-                .isEmpty() ? null : cosmetics.getContent()
-                .get(0));
+            @RequestParam String name) {
+        List<UserCosmeticDTO> cosmetics = userInventorySearchService.search(userId, name, 1);
+        return ResponseEntity.ok().body(cosmetics.isEmpty() ? null : cosmetics.get(0));
     }
-}
 
+    @Operation(summary = "Buscar cosméticos por nome com ranking", description = "Retorna os cosméticos ativos do usuário cujo nome contém o texto, do mais relevante (nome igual, prefixo, início de palavra) ao menos relevante")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados retornados com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @GetMapping("/search/ranked")
+    public ResponseEntity<List<UserCosmeticDTO>> searchRanked(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId,
+            @Parameter(description = "Texto a buscar no nome", required = true, example = "raider")
+            @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados (máximo 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        List<UserCosmeticDTO> cosmetics = userInventorySearchService.search(userId, q, Math.clamp(limit, 1, 100));
+        return ResponseEntity.ok(cosmetics);
+    }
+}
@@ -0,0 +1,46 @@
+package com.barbosa.desafio_tech.controller;
+
+import com.barbosa.desafio_tech.domain.dto.UserSummaryDTO;
+import com.barbosa.desafio_tech.domain.service.UserSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Resumo do usuário", description = "Contagens do inventário e totais de gastos e reembolsos por usuário")
+public class UserSummaryController {
+
+    private final UserSummaryService userSummaryService;
+
+    @Operation(summary = "Resumo do usuário", description = "Retorna itens ativos por raridade e tipo, total gasto, total reembolsado e data da última compra")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserSummaryDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @GetMapping("/users/{userId}/summary")
+    public ResponseEntity<UserSummaryDTO> getSummary(
+            @Parameter(description = "ID do usuário", required = true, example = "1")
+            @PathVariable Long userId) {
+        return ResponseEntity.ok(userSummaryService.getSummary(userId));
+    }
+
+    @Operation(summary = "Recalcular resumos", description = "Uso administrativo: recalcula em segundo plano os resumos de todos os usuários a partir do extrato")
+    @ApiResponse(responseCode = "202", description = "Recálculo iniciado (ou já em andamento)")
+    @PostMapping("/api/admin/summaries/rebuild")
+    public ResponseEntity<Void> rebuildSummaries() {
+        userSummaryService.rebuildAll();
+        return ResponseEntity.accepted().build();
+    }
+}
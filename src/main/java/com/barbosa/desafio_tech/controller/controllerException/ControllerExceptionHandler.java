@@ -1,8 +1,18 @@
 package com.barbosa.desafio_tech.controller.controllerException;
 
+import com.barbosa.desafio_tech.domain.service.serviceException.ActiveUserException;
+import com.barbosa.desafio_tech.domain.service.serviceException.ComesticNotFoundException;
 import com.barbosa.desafio_tech.domain.service.serviceException.DatabaseException;
+import com.barbosa.desafio_tech.domain.service.serviceException.IdempotencyKeyException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InsufficientBalanceException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCartException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCursorException;
+import com.barbosa.desafio_tech.domain.service.serviceException.PriceInvalidException;
 import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
+import com.barbosa.desafio_tech.domain.service.serviceException.ServiceOverloadedException;
+import com.barbosa.desafio_tech.domain.service.serviceException.WalletBusyException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -22,6 +32,21 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(ComesticNotFoundException.class)
+    public ResponseEntity<CustomError> cosmeticNotFound(ComesticNotFoundException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler({InsufficientBalanceException.class, InvalidCartException.class, PriceInvalidException.class,
+            ActiveUserException.class})
+    public ResponseEntity<CustomError> purchaseRejected(RuntimeException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(DatabaseException.class)
     public ResponseEntity<CustomError> dataBase(DatabaseException e, HttpServletRequest request) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
@@ -29,6 +54,36 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<CustomError> invalidCursor(InvalidCursorException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(WalletBusyException.class)
+    public ResponseEntity<CustomError> walletBusy(WalletBusyException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<CustomError> serviceOverloaded(ServiceOverloadedException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(err);
+    }
+
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<CustomError> idempotencyKey(IdempotencyKeyException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomError> methodArgumentNotValidException(MethodArgumentNotValidException e, HttpServletRequest request ) {
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
@@ -0,0 +1,10 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import java.time.Instant;
+
+/**
+ * Validadores de uma resposta do catálogo: ETag forte (conteúdo da lista + parâmetros da consulta) e a data da
+ * última mudança do catálogo.
+ */
+public record CatalogETag(String etag, Instant lastModified) {
+}
@@ -0,0 +1,155 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice invertido do catálogo, construído uma vez por versão do snapshot.
+ * Filtros por campo viram interseção de bitmaps e o filtro por nome usa um índice de trigramas
+ * sobre os nomes já convertidos para minúsculas.
+ */
+public final class CatalogIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final int size;
+    private final String[] lowerNames;
+    private final Map<String, BitSet> byType;
+    private final Map<String, BitSet> byRarity;
+    private final BitSet isNew;
+    private final BitSet notNew;
+    private final BitSet onSale;
+    private final BitSet notOnSale;
+    private final Map<String, int[]> trigrams;
+
+    private CatalogIndex(int size, String[] lowerNames, Map<String, BitSet> byType, Map<String, BitSet> byRarity,
+                         BitSet isNew, BitSet notNew, BitSet onSale, BitSet notOnSale, Map<String, int[]> trigrams) {
+        this.size = size;
+        this.lowerNames = lowerNames;
+        this.byType = byType;
+        this.byRarity = byRarity;
+        this.isNew = isNew;
+        this.notNew = notNew;
+        this.onSale = onSale;
+        this.notOnSale = notOnSale;
+        this.trigrams = trigrams;
+    }
+
+    public static CatalogIndex build(List<ComesticDTO> items) {
+        int size = items.size();
+        String[] lowerNames = new String[size];
+        Map<String, BitSet> byType = new HashMap<>();
+        Map<String, BitSet> byRarity = new HashMap<>();
+        BitSet isNew = new BitSet(size);
+        BitSet notNew = new BitSet(size);
+        BitSet onSale = new BitSet(size);
+        BitSet notOnSale = new BitSet(size);
+        Map<String, List<Integer>> postings = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            ComesticDTO item = items.get(i);
+            if (item.getType() != null) {
+                byType.computeIfAbsent(item.getType(), k -> new BitSet(size)).set(i);
+            }
+            if (item.getRarity() != null) {
+                byRarity.computeIfAbsent(item.getRarity(), k -> new BitSet(size)).set(i);
+            }
+            setFlag(item.getIsNew(), i, isNew, notNew);
+            setFlag(item.getIsOnSale(), i, onSale, notOnSale);
+
+            if (item.getName() != null) {
+                String lower = item.getName().toLowerCase(Locale.ROOT);
+                lowerNames[i] = lower;
+                for (int start = 0; start + GRAM_SIZE <= lower.length(); start++) {
+                    List<Integer> list = postings.computeIfAbsent(lower.substring(start, start + GRAM_SIZE), k -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                        list.add(i);
+                    }
+                }
+            }
+        }
+
+        Map<String, int[]> trigrams = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, list) -> trigrams.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new CatalogIndex(size, lowerNames, byType, byRarity, isNew, notNew, onSale, notOnSale, trigrams);
+    }
+
+    private static void setFlag(Boolean value, int position, BitSet whenTrue, BitSet whenFalse) {
+        if (Boolean.TRUE.equals(value)) {
+            whenTrue.set(position);
+        } else if (Boolean.FALSE.equals(value)) {
+            whenFalse.set(position);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retorna as posições (na lista indexada) dos itens que atendem ao filtro. O bitmap retornado é uma cópia.
+     */
+    public BitSet match(ComesticFilterDTO filter) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        if (filter == null) {
+            return result;
+        }
+
+        if (filter.getType() != null) {
+            result.and(byType.getOrDefault(filter.getType(), new BitSet()));
+        }
+        if (filter.getRarity() != null) {
+            result.and(byRarity.getOrDefault(filter.getRarity(), new BitSet()));
+        }
+        if (filter.getIsNew() != null) {
+            result.and(filter.getIsNew() ? isNew : notNew);
+        }
+        if (filter.getIsOnSale() != null) {
+            result.and(filter.getIsOnSale() ? onSale : notOnSale);
+        }
+        if (filter.getName() != null && !result.isEmpty()) {
+            return matchName(filter.getName().toLowerCase(Locale.ROOT), result);
+        }
+        return result;
+    }
+
+    private BitSet matchName(String token, BitSet candidates) {
+        BitSet result = new BitSet(size);
+        if (token.length() < GRAM_SIZE) {
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (lowerNames[i] != null && lowerNames[i].contains(token)) {
+                    result.set(i);
+                }
+            }
+            return result;
+        }
+
+        int[] rarest = null;
+        for (int start = 0; start + GRAM_SIZE <= token.length(); start++) {
+            int[] list = trigrams.getOrDefault(token.substring(start, start + GRAM_SIZE), NO_POSTINGS);
+            if (rarest == null || list.length < rarest.length) {
+                rarest = list;
+            }
+            if (rarest.length == 0) {
+                return result;
+            }
+        }
+
+        for (int position : rarest) {
+            if (candidates.get(position) && lowerNames[position].contains(token)) {
+                result.set(position);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CatalogSnapshot(long version,
+                              Instant refreshedAt,
+                              CatalogView cosmetics,
+                              CatalogView newCosmetics,
+                              CatalogView shop) {
+
+    public static final CatalogSnapshot EMPTY = of(0L, Instant.EPOCH, List.of(), List.of(), List.of());
+
+    public static CatalogSnapshot of(long version, Instant refreshedAt, List<ComesticDTO> cosmetics,
+                                     List<ComesticDTO> newCosmetics, List<ComesticDTO> shop) {
+        return new CatalogSnapshot(version, refreshedAt, CatalogView.of(cosmetics), CatalogView.of(newCosmetics),
+                CatalogView.of(shop));
+    }
+
+    public ComesticDTO findById(String id) {
+        ComesticDTO found = cosmetics.byId().get(id);
+        if (found == null) {
+            found = newCosmetics.byId().get(id);
+        }
+        return found != null ? found : shop.byId().get(id);
+    }
+
+    /**
+     * Igual entre dois snapshots somente se as três listas forem idênticas.
+     */
+    public String contentHash() {
+        return CatalogView.hash(cosmetics.contentHash() + newCosmetics.contentHash() + shop.contentHash());
+    }
+
+    public boolean isLoaded() {
+        return version > 0;
+    }
+}
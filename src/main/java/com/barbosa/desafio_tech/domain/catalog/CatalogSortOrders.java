@@ -0,0 +1,76 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Permutações ordenadas da lista do snapshot, calculadas uma vez por versão para cada campo ordenável
+ * nas duas direções. Valores nulos ficam sempre no fim e empates mantêm a ordem original da API.
+ */
+public final class CatalogSortOrders {
+
+    private final Map<String, int[]> orders;
+
+    private CatalogSortOrders(Map<String, int[]> orders) {
+        this.orders = orders;
+    }
+
+    public static CatalogSortOrders build(List<ComesticDTO> items) {
+        Map<String, int[]> orders = new HashMap<>();
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            sortableFields(direction).forEach((property, comparator) ->
+                    orders.put(key(property, direction), permutation(items, comparator)));
+        }
+        return new CatalogSortOrders(orders);
+    }
+
+    /**
+     * Retorna a permutação da primeira ordem suportada do {@link Sort}, ou {@code null} quando nenhuma se aplica.
+     */
+    public int[] order(Sort sort) {
+        if (sort == null) {
+            return null;
+        }
+        for (Sort.Order order : sort) {
+            int[] permutation = orders.get(key(order.getProperty(), order.getDirection()));
+            if (permutation != null) {
+                return permutation;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Comparator<ComesticDTO>> sortableFields(Sort.Direction direction) {
+        return Map.of(
+                "name", field(ComesticDTO::getName, String.CASE_INSENSITIVE_ORDER, direction),
+                "price", field(ComesticDTO::getPrice, Comparator.naturalOrder(), direction),
+                "rarity", field(ComesticDTO::getRarity, String.CASE_INSENSITIVE_ORDER, direction),
+                "type", field(ComesticDTO::getType, String.CASE_INSENSITIVE_ORDER, direction));
+    }
+
+    private static <T> Comparator<ComesticDTO> field(Function<ComesticDTO, T> extractor, Comparator<T> comparator,
+                                                    Sort.Direction direction) {
+        Comparator<T> directed = direction.isAscending() ? comparator : comparator.reversed();
+        return Comparator.comparing(extractor, Comparator.nullsLast(directed));
+    }
+
+    private static int[] permutation(List<ComesticDTO> items, Comparator<ComesticDTO> comparator) {
+        return IntStream.range(0, items.size())
+                .boxed()
+                .sorted(Comparator.<Integer, ComesticDTO>comparing(items::get, comparator)
+                        .thenComparing(Comparator.naturalOrder()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static String key(String property, Sort.Direction direction) {
+        return property + ":" + direction.name();
+    }
+}
@@ -0,0 +1,76 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uma lista do catálogo com seus índices. {@code contentHash} é um SHA-256 (truncado) dos itens na ordem recebida e
+ * só muda quando o conteúdo muda; é a base dos ETags das respostas.
+ */
+public record CatalogView(List<ComesticDTO> items, CatalogIndex index, CatalogSortOrders sortOrders,
+                          Map<String, ComesticDTO> byId, String contentHash) {
+
+    private static final int HASH_BYTES = 16;
+
+    public static CatalogView of(List<ComesticDTO> items) {
+        List<ComesticDTO> copy = List.copyOf(items);
+        Map<String, ComesticDTO> byId = new HashMap<>(copy.size() * 2);
+        for (ComesticDTO item : copy) {
+            if (item.getId() != null) {
+                byId.putIfAbsent(item.getId(), item);
+            }
+        }
+        return new CatalogView(copy, CatalogIndex.build(copy), CatalogSortOrders.build(copy), Map.copyOf(byId),
+                contentHash(copy));
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public static String hash(String value) {
+        MessageDigest digest = sha256();
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest(), 0, HASH_BYTES);
+    }
+
+    private static String contentHash(List<ComesticDTO> items) {
+        MessageDigest digest = sha256();
+        for (ComesticDTO item : items) {
+            update(digest, item.getId());
+            update(digest, item.getName());
+            update(digest, item.getType());
+            update(digest, item.getRarity());
+            update(digest, item.getImageUrl());
+            update(digest, item.getPrice());
+            update(digest, item.getIsNew());
+            update(digest, item.getIsOnSale());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, HASH_BYTES);
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        // o separador e o marcador de nulo evitam que campos vizinhos diferentes gerem a mesma sequência de bytes
+        digest.update((value == null ? "\u0000" : value.toString()).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0x1F);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+public record BucketCount(String bucket, Long count) {
+}
@@ -0,0 +1,19 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartCheckoutDTO {
+
+    @NotEmpty(message = "O carrinho não pode estar vazio")
+    @Size(max = 100, message = "O carrinho aceita no máximo 100 itens")
+    private List<ComesticDTO> items;
+}
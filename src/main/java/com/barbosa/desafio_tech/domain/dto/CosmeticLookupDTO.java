@@ -0,0 +1,19 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CosmeticLookupDTO {
+
+    @NotEmpty(message = "Informe ao menos um id")
+    @Size(max = 200, message = "No máximo 200 ids por consulta")
+    private List<String> ids;
+}
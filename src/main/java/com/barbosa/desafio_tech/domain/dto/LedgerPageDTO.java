@@ -0,0 +1,16 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerPageDTO {
+
+    private List<TransactionDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Totais de compras e reembolsos de um usuário agregados a partir do extrato.
+ */
+public record LedgerTotals(Long spent, Long refunded, Long purchases, Long refunds, LocalDateTime lastPurchaseAt) {
+
+    public LedgerTotals {
+        spent = spent != null ? spent : 0L;
+        refunded = refunded != null ? refunded : 0L;
+        purchases = purchases != null ? purchases : 0L;
+        refunds = refunds != null ? refunds : 0L;
+    }
+}
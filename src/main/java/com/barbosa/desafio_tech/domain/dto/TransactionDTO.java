@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -13,8 +15,10 @@ import lombok.NoArgsConstructor;
 public class TransactionDTO {
 
     private Long id;
+    private Long userId;
     private Type type;
-    private Double amount;
-    private String date;
-    private String description;
+    private Integer amount;
+    private Integer balanceAfter;
+    private String referenceId;
+    private LocalDateTime createdAt;
 }
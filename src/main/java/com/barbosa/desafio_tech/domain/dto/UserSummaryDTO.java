@@ -0,0 +1,26 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDTO {
+    private Long userId;
+    private Integer activeCount;
+    private Map<String, Integer> ownedByRarity;
+    private Map<String, Integer> ownedByType;
+    private Long totalSpent;
+    private Long totalRefunded;
+    private Integer purchaseCount;
+    private Integer refundCount;
+    private LocalDateTime lastPurchaseAt;
+    private LocalDateTime updatedAt;
+}
@@ -16,7 +16,8 @@ import java.util.List;
 public class Comestic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_comestic_id_gen")
+    @SequenceGenerator(name = "tb_comestic_id_gen", sequenceName = "tb_comestic_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String type;
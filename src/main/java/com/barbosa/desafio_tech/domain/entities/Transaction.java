@@ -10,7 +10,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tb_transactions")
+@Table(name = "tb_transactions", indexes = {
+        @Index(name = "idx_transactions_user_created_id", columnList = "user_id, created_at, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -18,10 +20,11 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_transactions_id_gen")
+    @SequenceGenerator(name = "tb_transactions_id_gen", sequenceName = "tb_transactions_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnoreProperties({"cosmetic", "password", "version", "createdAt"})
     private User user;
@@ -0,0 +1,46 @@
+package com.barbosa.desafio_tech.domain.entities;
+
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transações movidas de {@code tb_transactions} pelo arquivamento do extrato. Só é gravada por SQL
+ * ({@link com.barbosa.desafio_tech.domain.repository.LedgerPartitionRepository}); a leitura é feita por
+ * {@link TransactionHistory}.
+ */
+@Entity
+@Table(name = "tb_transactions_archive", indexes = {
+        @Index(name = "idx_transactions_archive_user_created_id", columnList = "user_id, created_at, id")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(nullable = false)
+    private Integer amount;
+
+    @Column(name = "balance_after", nullable = false)
+    private Integer balanceAfter;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.barbosa.desafio_tech.domain.entities;
+
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDateTime;
+
+/**
+ * Extrato completo do usuário: transações correntes mais as arquivadas. Somente leitura; é a origem do extrato,
+ * das exportações e do recálculo dos resumos.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        select id, user_id, type, amount, balance_after, reference_id, created_at from tb_transactions
+        union all
+        select id, user_id, type, amount, balance_after, reference_id, created_at from tb_transactions_archive
+        """)
+@Synchronize({"tb_transactions", "tb_transactions_archive"})
+@Data
+@NoArgsConstructor
+public class TransactionHistory {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    private Integer amount;
+
+    @Column(name = "balance_after")
+    private Integer balanceAfter;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
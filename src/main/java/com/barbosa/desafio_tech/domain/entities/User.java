@@ -19,7 +19,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_users_id_gen")
+    @SequenceGenerator(name = "tb_users_id_gen", sequenceName = "tb_users_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String email;
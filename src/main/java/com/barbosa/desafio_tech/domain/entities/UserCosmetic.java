@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Data
 @AllArgsConstructor
@@ -13,15 +15,18 @@ import lombok.NoArgsConstructor;
 public class UserCosmetic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_user_cosmetic_id_gen")
+    @SequenceGenerator(name = "tb_user_cosmetic_id_gen", sequenceName = "tb_user_cosmetic_seq", allocationSize = 50)
     private Long id;
     private String cosmeticId;
     private String cosmeticName;
     private Integer price;
     private String rarity;
+    private String type;
     private Boolean isActive = true;
+    private LocalDateTime refundedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 }
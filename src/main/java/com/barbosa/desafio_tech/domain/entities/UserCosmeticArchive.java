@@ -0,0 +1,35 @@
+package com.barbosa.desafio_tech.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posses reembolsadas movidas de {@code tb_user_cosmetic} pelo arquivamento. Só é gravada por SQL; a leitura é
+ * feita por {@link UserCosmeticHistory}.
+ */
+@Entity
+@Table(name = "tb_user_cosmetic_archive", indexes = {
+        @Index(name = "idx_user_cosmetic_archive_user", columnList = "user_id, id")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserCosmeticArchive {
+
+    @Id
+    private Long id;
+    private String cosmeticId;
+    private String cosmeticName;
+    private Integer price;
+    private String rarity;
+    private String type;
+    private Boolean isActive;
+    private LocalDateTime refundedAt;
+
+    @Column(name = "user_id")
+    private Long userId;
+}
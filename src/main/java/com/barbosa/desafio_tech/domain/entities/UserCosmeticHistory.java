@@ -0,0 +1,39 @@
+package com.barbosa.desafio_tech.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todas as posses do usuário, inclusive as reembolsadas já arquivadas. Somente leitura; usada pelas exportações.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        select id, cosmetic_id, cosmetic_name, price, rarity, type, is_active, refunded_at, user_id from tb_user_cosmetic
+        union all
+        select id, cosmetic_id, cosmetic_name, price, rarity, type, is_active, refunded_at, user_id from tb_user_cosmetic_archive
+        """)
+@Synchronize({"tb_user_cosmetic", "tb_user_cosmetic_archive"})
+@Data
+@NoArgsConstructor
+public class UserCosmeticHistory {
+
+    @Id
+    private Long id;
+    private String cosmeticId;
+    private String cosmeticName;
+    private Integer price;
+    private String rarity;
+    private String type;
+    private Boolean isActive;
+    private LocalDateTime refundedAt;
+
+    @Column(name = "user_id")
+    private Long userId;
+}
@@ -0,0 +1,60 @@
+package com.barbosa.desafio_tech.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resumo materializado do inventário e dos gastos de um usuário, atualizado na mesma transação das compras e
+ * reembolsos e recalculável a partir do extrato.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "tb_user_summary")
+public class UserSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer activeCount = 0;
+
+    @ElementCollection
+    @CollectionTable(name = "tb_user_summary_rarity", joinColumns = @JoinColumn(name = "user_id"))
+    @MapKeyColumn(name = "rarity", length = 64)
+    @Column(name = "owned", nullable = false)
+    private Map<String, Integer> ownedByRarity = new HashMap<>();
+
+    @ElementCollection
+    @CollectionTable(name = "tb_user_summary_type", joinColumns = @JoinColumn(name = "user_id"))
+    @MapKeyColumn(name = "type", length = 64)
+    @Column(name = "owned", nullable = false)
+    private Map<String, Integer> ownedByType = new HashMap<>();
+
+    @Column(nullable = false)
+    private Long totalSpent = 0L;
+
+    @Column(nullable = false)
+    private Long totalRefunded = 0L;
+
+    @Column(nullable = false)
+    private Integer purchaseCount = 0;
+
+    @Column(nullable = false)
+    private Integer refundCount = 0;
+
+    private LocalDateTime lastPurchaseAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public UserSummary(Long userId) {
+        this.userId = userId;
+    }
+}
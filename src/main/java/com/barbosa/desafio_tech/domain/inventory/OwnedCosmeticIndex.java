@@ -0,0 +1,113 @@
+package com.barbosa.desafio_tech.domain.inventory;
+
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice imutável dos cosméticos ativos de um usuário para busca por nome. Usa trigramas para encontrar
+ * candidatos por substring e classifica cada resultado pelo tipo de ocorrência: nome igual, prefixo do nome,
+ * prefixo de uma palavra e, por fim, substring.
+ */
+public final class OwnedCosmeticIndex {
+
+    public static final OwnedCosmeticIndex EMPTY = build(List.of());
+
+    private static final int GRAM_SIZE = 3;
+    private static final int EXACT = 0;
+    private static final int NAME_PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+
+    private final List<UserCosmeticDTO> items;
+    private final String[] lowerNames;
+    private final Map<String, BitSet> trigrams;
+
+    private OwnedCosmeticIndex(List<UserCosmeticDTO> items, String[] lowerNames, Map<String, BitSet> trigrams) {
+        this.items = items;
+        this.lowerNames = lowerNames;
+        this.trigrams = trigrams;
+    }
+
+    public static OwnedCosmeticIndex build(List<UserCosmeticDTO> items) {
+        List<UserCosmeticDTO> copy = List.copyOf(items);
+        String[] lowerNames = new String[copy.size()];
+        Map<String, BitSet> trigrams = new HashMap<>();
+        for (int i = 0; i < copy.size(); i++) {
+            String name = copy.get(i).getCosmeticName();
+            lowerNames[i] = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            for (int start = 0; start + GRAM_SIZE <= lowerNames[i].length(); start++) {
+                trigrams.computeIfAbsent(lowerNames[i].substring(start, start + GRAM_SIZE), k -> new BitSet()).set(i);
+            }
+        }
+        return new OwnedCosmeticIndex(copy, lowerNames, trigrams);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public List<UserCosmeticDTO> search(String query, int limit) {
+        String token = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (token.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        BitSet candidates = candidates(token);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            int rank = rank(lowerNames[i], token);
+            if (rank >= 0) {
+                matches.add(new int[]{rank, i});
+            }
+        }
+
+        matches.sort(Comparator.<int[]>comparingInt(m -> m[0])
+                .thenComparingInt(m -> lowerNames[m[1]].length())
+                .thenComparing(m -> lowerNames[m[1]]));
+
+        List<UserCosmeticDTO> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            result.add(items.get(matches.get(i)[1]));
+        }
+        return result;
+    }
+
+    private BitSet candidates(String token) {
+        BitSet candidates = new BitSet(items.size());
+        candidates.set(0, items.size());
+        if (token.length() < GRAM_SIZE) {
+            return candidates;
+        }
+        for (int start = 0; start + GRAM_SIZE <= token.length() && !candidates.isEmpty(); start++) {
+            BitSet postings = trigrams.get(token.substring(start, start + GRAM_SIZE));
+            if (postings == null) {
+                return new BitSet();
+            }
+            candidates.and(postings);
+        }
+        return candidates;
+    }
+
+    private static int rank(String name, String token) {
+        int position = name.indexOf(token);
+        if (position < 0) {
+            return -1;
+        }
+        if (position == 0) {
+            return name.length() == token.length() ? EXACT : NAME_PREFIX;
+        }
+        for (int at = position; at >= 0; at = name.indexOf(token, at + 1)) {
+            if (!Character.isLetterOrDigit(name.charAt(at - 1))) {
+                return WORD_PREFIX;
+            }
+        }
+        return SUBSTRING;
+    }
+}
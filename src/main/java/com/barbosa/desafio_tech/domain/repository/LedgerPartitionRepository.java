@@ -0,0 +1,166 @@
+package com.barbosa.desafio_tech.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DDL e movimentação de dados do extrato particionado (PostgreSQL). {@code tb_transactions} é particionada por mês
+ * em {@code created_at}; partições antigas e posses reembolsadas há muito tempo vão para tabelas de arquivo.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerPartitionRepository {
+
+    public static final String LEDGER_TABLE = "tb_transactions";
+    public static final String LEDGER_ARCHIVE_TABLE = "tb_transactions_archive";
+    public static final String OWNERSHIP_TABLE = "tb_user_cosmetic";
+    public static final String OWNERSHIP_ARCHIVE_TABLE = "tb_user_cosmetic_archive";
+
+    private static final String PARTITION_PREFIX = LEDGER_TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Converte a tabela comum criada pelo Hibernate em tabela particionada, criando uma partição por mês já existente
+     * nos dados, e preenche {@code refunded_at} das posses reembolsadas antes de a coluna existir (a data real não é
+     * conhecida; conta a partir da migração). Não faz nada se a tabela já for particionada.
+     */
+    public boolean convertLedgerToPartitioned() {
+        if (isPartitioned()) {
+            return false;
+        }
+        jdbcTemplate.execute("""
+                DO $$
+                DECLARE
+                    month_start date;
+                BEGIN
+                    ALTER TABLE tb_transactions RENAME TO tb_transactions_legacy;
+                    ALTER TABLE tb_transactions_legacy RENAME CONSTRAINT tb_transactions_pkey TO tb_transactions_legacy_pkey;
+                    ALTER INDEX IF EXISTS idx_transactions_user_created_id RENAME TO idx_transactions_legacy_user_created_id;
+
+                    CREATE TABLE tb_transactions (LIKE tb_transactions_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+                        PARTITION BY RANGE (created_at);
+                    ALTER TABLE tb_transactions ADD CONSTRAINT tb_transactions_pkey PRIMARY KEY (id, created_at);
+                    ALTER TABLE tb_transactions ADD CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES tb_users (id);
+                    CREATE INDEX idx_transactions_user_created_id ON tb_transactions (user_id, created_at, id);
+                    CREATE TABLE tb_transactions_default PARTITION OF tb_transactions DEFAULT;
+
+                    FOR month_start IN
+                        SELECT DISTINCT date_trunc('month', created_at)::date FROM tb_transactions_legacy
+                        UNION SELECT date_trunc('month', now())::date
+                    LOOP
+                        EXECUTE format('CREATE TABLE %I PARTITION OF tb_transactions FOR VALUES FROM (%L) TO (%L)',
+                                'tb_transactions_p' || to_char(month_start, 'YYYY_MM'), month_start, month_start + interval '1 month');
+                    END LOOP;
+
+                    INSERT INTO tb_transactions SELECT * FROM tb_transactions_legacy;
+                    DROP TABLE tb_transactions_legacy;
+
+                    UPDATE tb_user_cosmetic SET refunded_at = now() WHERE is_active = false AND refunded_at IS NULL;
+                END $$
+                """);
+        return true;
+    }
+
+    public boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject("""
+                select count(*) from pg_partitioned_table p
+                join pg_class c on c.oid = p.partrelid
+                where c.relname = ? and c.relnamespace = current_schema()::regnamespace
+                """, Integer.class, LEDGER_TABLE);
+        return count != null && count > 0;
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + LEDGER_TABLE +
+                " FOR VALUES FROM ('" + start + "') TO ('" + start.plusMonths(1) + "')");
+    }
+
+    public List<YearMonth> monthlyPartitions() {
+        return jdbcTemplate.queryForList("""
+                        select c.relname from pg_inherits i
+                        join pg_class c on c.oid = i.inhrelid
+                        join pg_class p on p.oid = i.inhparent
+                        where p.relname = ? and c.relname like ?
+                        """, String.class, LEDGER_TABLE, PARTITION_PREFIX + "%")
+                .stream()
+                .map(name -> parseMonth(name.substring(PARTITION_PREFIX.length())))
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Move a partição inteira para o arquivo e a remove. Deve rodar dentro de uma transação.
+     */
+    public int archivePartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE " + LEDGER_TABLE + " DETACH PARTITION " + partition);
+        String columns = archiveColumns(LEDGER_TABLE, LEDGER_ARCHIVE_TABLE);
+        int moved = jdbcTemplate.update("INSERT INTO " + LEDGER_ARCHIVE_TABLE + " (" + columns + ") SELECT " + columns + " FROM " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        return moved;
+    }
+
+    /**
+     * Move para o arquivo as linhas antigas que caíram na partição padrão (anteriores à primeira partição mensal).
+     */
+    public int archiveDefaultPartitionBefore(LocalDateTime cutoff) {
+        String columns = archiveColumns(LEDGER_TABLE, LEDGER_ARCHIVE_TABLE);
+        return jdbcTemplate.update("WITH moved AS (DELETE FROM " + LEDGER_TABLE + "_default WHERE created_at < ? RETURNING *) " +
+                "INSERT INTO " + LEDGER_ARCHIVE_TABLE + " (" + columns + ") SELECT " + columns + " FROM moved", Timestamp.valueOf(cutoff));
+    }
+
+    public int archiveRefundedOwnershipsBefore(LocalDateTime cutoff) {
+        String columns = archiveColumns(OWNERSHIP_TABLE, OWNERSHIP_ARCHIVE_TABLE);
+        return jdbcTemplate.update("WITH moved AS (DELETE FROM " + OWNERSHIP_TABLE + " WHERE is_active = false AND refunded_at < ? RETURNING *) " +
+                "INSERT INTO " + OWNERSHIP_ARCHIVE_TABLE + " (" + columns + ") SELECT " + columns + " FROM moved", Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * Garante a tabela de arquivo (normalmente já criada pelo Hibernate a partir de {@code TransactionArchive} e
+     * {@code UserCosmeticArchive}) com as colunas novas da tabela de origem e um BRIN por data; devolve a lista de
+     * colunas em comum para as instruções de cópia.
+     */
+    private String archiveColumns(String source, String archive) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " (LIKE " + source + " INCLUDING DEFAULTS) WITH (fillfactor = 100)");
+        jdbcTemplate.query("""
+                        select a.attname, format_type(a.atttypid, a.atttypmod) from pg_attribute a
+                        where a.attrelid = ?::regclass and a.attnum > 0 and not a.attisdropped
+                          and a.attname not in (select b.attname from pg_attribute b
+                                                where b.attrelid = ?::regclass and b.attnum > 0 and not b.attisdropped)
+                        """,
+                row -> {
+                    jdbcTemplate.execute("ALTER TABLE " + archive + " ADD COLUMN " + row.getString(1) + " " + row.getString(2));
+                }, source, archive);
+        String dateColumn = LEDGER_ARCHIVE_TABLE.equals(archive) ? "created_at" : "refunded_at";
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + archive + "_brin ON " + archive + " USING brin (" + dateColumn + ")");
+        return String.join(", ", jdbcTemplate.queryForList("""
+                select a.attname from pg_attribute a
+                where a.attrelid = ?::regclass and a.attnum > 0 and not a.attisdropped
+                order by a.attnum
+                """, String.class, source));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static Optional<YearMonth> parseMonth(String suffix) {
+        try {
+            return Optional.of(YearMonth.parse(suffix, PARTITION_SUFFIX));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,16 +1,88 @@
 package com.barbosa.desafio_tech.domain.repository;
 
+import com.barbosa.desafio_tech.domain.dto.LedgerTotals;
+import com.barbosa.desafio_tech.domain.dto.TransactionDTO;
 import com.barbosa.desafio_tech.domain.entities.Transaction;
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
     Page<Transaction> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     List<Transaction> findByUserIdOrderByCreatedAtDesc(Long userId);
-}
 
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.TransactionDTO(
+                t.id, t.userId, t.type, t.amount, t.balanceAfter, t.referenceId, t.createdAt)
+            from TransactionHistory t
+            where t.userId = :userId
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TransactionDTO> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.TransactionDTO(
+                t.id, t.userId, t.type, t.amount, t.balanceAfter, t.referenceId, t.createdAt)
+            from TransactionHistory t
+            where t.userId = :userId
+              and t.type in :types
+              and t.createdAt >= :from
+              and (t.createdAt, t.id) < (:beforeCreatedAt, :beforeId)
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TransactionDTO> findLedgerPage(@Param("userId") Long userId,
+                                        @Param("types") Collection<Type> types,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                        @Param("beforeId") Long beforeId,
+                                        Pageable limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.TransactionDTO(
+                t.id, t.userId, t.type, t.amount, t.balanceAfter, t.referenceId, t.createdAt)
+            from TransactionHistory t
+            where t.userId = :userId
+            order by t.createdAt, t.id
+            """)
+    Stream<TransactionDTO> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.TransactionDTO(
+                t.id, t.userId, t.type, t.amount, t.balanceAfter, t.referenceId, t.createdAt)
+            from TransactionHistory t
+            order by t.id
+            """)
+    Stream<TransactionDTO> streamAll();
+
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.LedgerTotals(
+                sum(case when t.type = :purchase then -t.amount else 0 end),
+                sum(case when t.type = :refund then t.amount else 0 end),
+                sum(case when t.type = :purchase then 1 else 0 end),
+                sum(case when t.type = :refund then 1 else 0 end),
+                max(case when t.type = :purchase then t.createdAt end))
+            from TransactionHistory t
+            where t.userId = :userId
+            """)
+    LedgerTotals totalsByUserId(@Param("userId") Long userId,
+                                @Param("purchase") Type purchase,
+                                @Param("refund") Type refund);
+}
@@ -1,14 +1,23 @@
 package com.barbosa.desafio_tech.domain.repository;
 
+import com.barbosa.desafio_tech.domain.dto.BucketCount;
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
 import com.barbosa.desafio_tech.domain.entities.UserCosmetic;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserComesticRepository extends JpaRepository<UserCosmetic, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface UserComesticRepository extends JpaRepository<UserCosmetic, Long>, UserCosmeticInventoryRepository {
 
     List<UserCosmetic> findByUserIdAndIsActiveTrue(Long userId);
 
@@ -18,5 +27,57 @@ public interface UserComesticRepository extends JpaRepository<UserCosmetic, Long
 
     boolean existsByUserIdAndCosmeticIdAndIsActiveTrue(Long userId, String cosmeticId);
 
-    Page<UserCosmetic> findByCosmeticNameLike(String cosmeticName, Pageable pageable);
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO(
+                c.id, c.cosmeticId, c.cosmeticName, c.price, c.rarity, c.isActive, c.user.id)
+            from UserCosmetic c
+            where c.user.id = :userId and c.isActive = true
+            """)
+    List<UserCosmeticDTO> findActiveDtosByUserId(@Param("userId") Long userId);
+
+    @Query("select c.cosmeticId from UserCosmetic c where c.user.id = :userId and c.isActive = true")
+    List<String> findActiveCosmeticIdsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.BucketCount(c.rarity, count(c))
+            from UserCosmetic c
+            where c.user.id = :userId and c.isActive = true
+            group by c.rarity
+            """)
+    List<BucketCount> countActiveByRarity(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.BucketCount(c.type, count(c))
+            from UserCosmetic c
+            where c.user.id = :userId and c.isActive = true
+            group by c.type
+            """)
+    List<BucketCount> countActiveByType(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO(
+                c.id, c.cosmeticId, c.cosmeticName, c.price, c.rarity, c.isActive, c.user.id)
+            from UserCosmetic c
+            where c.id = :id
+            """)
+    Optional<UserCosmeticDTO> findDtoById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO(
+                c.id, c.cosmeticId, c.cosmeticName, c.price, c.rarity, c.isActive, c.userId)
+            from UserCosmeticHistory c
+            where c.userId = :userId
+            order by c.id
+            """)
+    Stream<UserCosmeticDTO> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO(
+                c.id, c.cosmeticId, c.cosmeticName, c.price, c.rarity, c.isActive, c.userId)
+            from UserCosmeticHistory c
+            order by c.id
+            """)
+    Stream<UserCosmeticDTO> streamAll();
 }
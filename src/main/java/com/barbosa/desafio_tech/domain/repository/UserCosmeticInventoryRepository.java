@@ -0,0 +1,25 @@
+package com.barbosa.desafio_tech.domain.repository;
+
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+/**
+ * Leituras do inventário que projetam direto em {@link UserCosmeticDTO}, sem carregar {@code User}.
+ * Cada método executa uma única instrução SQL, já incluindo a verificação de existência do usuário e o total da página.
+ */
+public interface UserCosmeticInventoryRepository {
+
+    /**
+     * Página dos cosméticos ativos do usuário; vazio se o usuário não existir.
+     */
+    Optional<Page<UserCosmeticDTO>> findActivePage(Long userId, Pageable pageable);
+
+    /**
+     * Cosmético ativo do usuário; vazio se o usuário não existir, {@code Optional.of(Optional.empty())} se o
+     * usuário existir sem esse cosmético ativo.
+     */
+    Optional<Optional<UserCosmeticDTO>> findActive(Long userId, String cosmeticId);
+}
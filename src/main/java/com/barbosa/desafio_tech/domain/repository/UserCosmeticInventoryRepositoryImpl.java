@@ -0,0 +1,119 @@
+package com.barbosa.desafio_tech.domain.repository;
+
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class UserCosmeticInventoryRepositoryImpl implements UserCosmeticInventoryRepository {
+
+    private static final String COLUMNS =
+            "c.id as id, c.cosmeticId as cosmeticId, c.cosmeticName as cosmeticName, c.price as price, " +
+            "c.rarity as rarity, c.isActive as isActive";
+
+    private static final Map<String, String> SORTABLE = Map.of(
+            "id", "c.id",
+            "cosmeticId", "c.cosmeticId",
+            "cosmeticName", "c.cosmeticName",
+            "price", "c.price",
+            "rarity", "c.rarity");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Page<UserCosmeticDTO>> findActivePage(Long userId, Pageable pageable) {
+        // o left join a partir de User devolve uma linha com cosmético nulo quando o usuário existe e não tem itens
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select u.id as userId, " + COLUMNS + ", count(c.id) over() as total " +
+                        "from User u left join UserCosmetic c on c.user = u and c.isActive = true " +
+                        "where u.id = :userId " + orderBy(pageable.getSort()), Tuple.class);
+        query.setParameter("userId", userId);
+        List<Tuple> rows = paged(query, pageable).getResultList();
+
+        if (rows.isEmpty()) {
+            if (pageable.isPaged() && pageable.getOffset() > 0 && userExists(userId)) {
+                return Optional.of(Page.empty(pageable));
+            }
+            return Optional.empty();
+        }
+
+        long total = rows.get(0).get("total", Long.class);
+        List<UserCosmeticDTO> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            if (row.get("id") != null) {
+                content.add(toDto(row, userId));
+            }
+        }
+        return Optional.of(new PageImpl<>(content, pageable, total));
+    }
+
+    @Override
+    public Optional<Optional<UserCosmeticDTO>> findActive(Long userId, String cosmeticId) {
+        List<Tuple> rows = entityManager.createQuery(
+                        "select u.id as userId, " + COLUMNS + " " +
+                                "from User u left join UserCosmetic c " +
+                                "on c.user = u and c.cosmeticId = :cosmeticId and c.isActive = true " +
+                                "where u.id = :userId", Tuple.class)
+                .setParameter("userId", userId)
+                .setParameter("cosmeticId", cosmeticId)
+                .setMaxResults(1)
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Tuple row = rows.get(0);
+        return Optional.of(row.get("id") == null ? Optional.empty() : Optional.of(toDto(row, userId)));
+    }
+
+    private boolean userExists(Long userId) {
+        return !entityManager.createQuery("select u.id from User u where u.id = :userId", Long.class)
+                .setParameter("userId", userId)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private static TypedQuery<Tuple> paged(TypedQuery<Tuple> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String path = SORTABLE.get(order.getProperty());
+            if (path != null) {
+                orders.add(path + (order.isAscending() ? " asc" : " desc"));
+            }
+        }
+        orders.add("c.id");
+        return "order by " + String.join(", ", orders);
+    }
+
+    private static UserCosmeticDTO toDto(Tuple row, Long userId) {
+        return UserCosmeticDTO.builder()
+                .id(row.get("id", Long.class))
+                .cosmeticId(row.get("cosmeticId", String.class))
+                .cosmeticName(row.get("cosmeticName", String.class))
+                .price(row.get("price", Integer.class))
+                .rarity(row.get("rarity", String.class))
+                .isActive(row.get("isActive", Boolean.class))
+                .userId(userId)
+                .build();
+    }
+}
@@ -1,7 +1,29 @@
 package com.barbosa.desafio_tech.domain.repository;
 
 import com.barbosa.desafio_tech.domain.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.vbucks = u.vbucks - :amount, u.version = u.version + 1 " +
+            "where u.id = :userId and u.vbucks >= :amount")
+    int debitVbucks(@Param("userId") Long userId, @Param("amount") int amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.vbucks = u.vbucks + :amount, u.version = u.version + 1 where u.id = :userId")
+    int creditVbucks(@Param("userId") Long userId, @Param("amount") int amount);
+
+    @Query("select u.vbucks from User u where u.id = :userId")
+    Optional<Integer> findVbucksById(@Param("userId") Long userId);
+
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
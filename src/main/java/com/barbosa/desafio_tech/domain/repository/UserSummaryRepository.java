@@ -0,0 +1,13 @@
+package com.barbosa.desafio_tech.domain.repository;
+
+import com.barbosa.desafio_tech.domain.entities.UserSummary;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface UserSummaryRepository extends JpaRepository<UserSummary, Long> {
+
+    @EntityGraph(attributePaths = {"ownedByRarity", "ownedByType"})
+    Optional<UserSummary> findWithBucketsByUserId(Long userId);
+}
@@ -0,0 +1,129 @@
+package com.barbosa.desafio_tech.domain.response;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodifica incrementalmente o payload de {@code /cosmetics}, emitindo um {@link ComesticDTO} para cada item de
+ * {@code data.br[]} assim que o objeto termina. Apenas os campos usados pelo catálogo são lidos; o restante do corpo
+ * é descartado token a token, então o heap usado depende do resultado e não do tamanho da resposta.
+ * Não é thread-safe: use uma instância por requisição.
+ */
+public class FortniteCosmeticsStreamDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final List<String> containers = new ArrayList<>();
+    private final Map<String, String> canonicalValues = new HashMap<>();
+
+    private String fieldName;
+    private ComesticDTO current;
+    private int entryDepth = -1;
+
+    public FortniteCosmeticsStreamDecoder() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public List<ComesticDTO> feed(byte[] chunk) {
+        try {
+            feeder.feedInput(chunk, 0, chunk.length);
+            return drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<ComesticDTO> complete() {
+        feeder.endOfInput();
+        try {
+            List<ComesticDTO> remaining = drain();
+            parser.close();
+            return remaining;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ComesticDTO> drain() throws IOException {
+        List<ComesticDTO> decoded = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case FIELD_NAME -> fieldName = parser.currentName();
+                case START_OBJECT -> {
+                    if (current == null && insideBrArray()) {
+                        current = new ComesticDTO();
+                        entryDepth = containers.size();
+                    }
+                    enter();
+                }
+                case START_ARRAY -> enter();
+                case END_OBJECT, END_ARRAY -> {
+                    containers.remove(containers.size() - 1);
+                    fieldName = null;
+                    if (current != null && containers.size() == entryDepth) {
+                        decoded.add(current);
+                        current = null;
+                    }
+                }
+                default -> {
+                    if (current != null) {
+                        assign(token == JsonToken.VALUE_NULL ? null : parser.getText());
+                    }
+                    fieldName = null;
+                }
+            }
+        }
+        return decoded;
+    }
+
+    private void enter() {
+        containers.add(fieldName);
+        fieldName = null;
+    }
+
+    private boolean insideBrArray() {
+        return containers.size() == 3 && "data".equals(containers.get(1)) && "br".equals(containers.get(2));
+    }
+
+    private void assign(String value) {
+        int depth = containers.size() - entryDepth;
+        if (depth == 1) {
+            if ("id".equals(fieldName)) {
+                current.setId(value);
+            } else if ("name".equals(fieldName)) {
+                current.setName(value);
+            }
+        } else if (depth == 2) {
+            String container = containers.get(containers.size() - 1);
+            if ("displayValue".equals(fieldName) && "type".equals(container)) {
+                current.setType(canonical(value));
+            } else if ("displayValue".equals(fieldName) && "rarity".equals(container)) {
+                current.setRarity(canonical(value));
+            } else if ("smallIcon".equals(fieldName) && "images".equals(container)) {
+                current.setImageUrl(value);
+            }
+        }
+    }
+
+    private String canonical(String value) {
+        return value == null ? null : canonicalValues.computeIfAbsent(value, v -> v);
+    }
+}
@@ -0,0 +1,183 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Guarda o último snapshot do catálogo em um arquivo binário compacto para que a aplicação volte a servir o
+ * catálogo logo após reiniciar, sem esperar o download da API do Fortnite.
+ * Formato: cabeçalho (magic, versão do formato, versão do catálogo, data do refresh), as três listas e um CRC32.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshotStore {
+
+    private static final int MAGIC = 0x43415431; // "CAT1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final int NULL_PRICE = Integer.MIN_VALUE;
+    private static final byte NULL_FLAG = -1;
+
+    private final Path file;
+
+    public CatalogSnapshotStore(@Value("${fortnite.catalog.snapshot-file:}") String snapshotFile) {
+        this.file = snapshotFile == null || snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+    }
+
+    public Optional<CatalogSnapshot> load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CatalogSnapshot snapshot = read(buffer);
+            log.info("Snapshot do catálogo versão {} carregado de {}", snapshot.version(), file);
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Não foi possível carregar o snapshot do catálogo de {}", file, ex);
+            return Optional.empty();
+        }
+    }
+
+    public void save(CatalogSnapshot snapshot) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                write(snapshot, temp);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException ex) {
+            log.warn("Não foi possível gravar o snapshot do catálogo em {}", file, ex);
+        }
+    }
+
+    private void write(CatalogSnapshot snapshot, Path target) throws IOException {
+        CRC32 crc = new CRC32();
+        try (OutputStream fileOut = Files.newOutputStream(target)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(fileOut, crc)));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.version());
+            out.writeLong(snapshot.refreshedAt().toEpochMilli());
+            writeItems(out, snapshot.cosmetics().items());
+            writeItems(out, snapshot.newCosmetics().items());
+            writeItems(out, snapshot.shop().items());
+            out.flush();
+            new DataOutputStream(fileOut).writeLong(crc.getValue());
+        }
+    }
+
+    private void writeItems(DataOutputStream out, List<ComesticDTO> items) throws IOException {
+        out.writeInt(items.size());
+        for (ComesticDTO item : items) {
+            writeString(out, item.getId());
+            writeString(out, item.getName());
+            writeString(out, item.getType());
+            writeString(out, item.getRarity());
+            writeString(out, item.getImageUrl());
+            out.writeInt(item.getPrice() != null ? item.getPrice() : NULL_PRICE);
+            out.writeByte(flag(item.getIsNew()));
+            out.writeByte(flag(item.getIsOnSale()));
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private byte flag(Boolean value) {
+        return value == null ? NULL_FLAG : (byte) (value ? 1 : 0);
+    }
+
+    private CatalogSnapshot read(ByteBuffer buffer) {
+        int payloadLength = buffer.limit() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(payloadLength));
+        if (crc.getValue() != buffer.getLong(payloadLength)) {
+            throw new IllegalStateException("Checksum do snapshot do catálogo inválido");
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            throw new IllegalStateException("Formato do snapshot do catálogo não suportado");
+        }
+
+        long version = buffer.getLong();
+        Instant refreshedAt = Instant.ofEpochMilli(buffer.getLong());
+        List<ComesticDTO> cosmetics = readItems(buffer);
+        List<ComesticDTO> newCosmetics = readItems(buffer);
+        List<ComesticDTO> shop = readItems(buffer);
+        return CatalogSnapshot.of(version, refreshedAt, cosmetics, newCosmetics, shop);
+    }
+
+    private List<ComesticDTO> readItems(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<ComesticDTO> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(ComesticDTO.builder()
+                    .id(readString(buffer))
+                    .name(readString(buffer))
+                    .type(readString(buffer))
+                    .rarity(readString(buffer))
+                    .imageUrl(readString(buffer))
+                    .price(readPrice(buffer))
+                    .isNew(readFlag(buffer))
+                    .isOnSale(readFlag(buffer))
+                    .build());
+        }
+        return items;
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Integer readPrice(ByteBuffer buffer) {
+        int price = buffer.getInt();
+        return price == NULL_PRICE ? null : price;
+    }
+
+    private Boolean readFlag(ByteBuffer buffer) {
+        byte flag = buffer.get();
+        return flag == NULL_FLAG ? null : flag == 1;
+    }
+}
@@ -1,5 +1,8 @@
 package com.barbosa.desafio_tech.domain.service;
 
+import com.barbosa.desafio_tech.domain.catalog.CatalogETag;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.catalog.CatalogView;
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
 import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
 import lombok.RequiredArgsConstructor;
@@ -7,76 +10,127 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class ComesticService {
 
+    private static final Sort DEFAULT_CATALOG_SORT = Sort.by("name");
+
     private final FortniteApiService fortniteApiService;
+    private final CosmeticCatalogService cosmeticCatalogService;
 
-    public Page<ComesticDTO> listAll(Pageable pageable, ComesticFilterDTO filter) {
-        Pageable effectivePageable = normalizePageable(pageable);
-        List<ComesticDTO> all = fortniteApiService.getAllCosmetics();
-        List<ComesticDTO> filtered = applyFilter(all, filter);
-        return paginate(filtered, effectivePageable);
+    /**
+     * Snapshot do catálogo para uma resposta; ETag e página devem ser calculados a partir do mesmo snapshot, para que
+     * uma atualização entre as duas leituras não envie o conteúdo de uma versão com o ETag de outra.
+     */
+    public Mono<CatalogSnapshot> snapshot() {
+        return cosmeticCatalogService.current();
     }
 
-    public Page<ComesticDTO> listNew(Pageable pageable) {
-        Pageable effectivePageable = normalizePageable(pageable);
-        List<ComesticDTO> list = fortniteApiService.getNewCosmetics();
-        return paginate(list, effectivePageable);
+    public Page<ComesticDTO> listAll(CatalogSnapshot snapshot, Pageable pageable, ComesticFilterDTO filter) {
+        return paginate(snapshot.cosmetics(), filter, normalizePageable(pageable), DEFAULT_CATALOG_SORT);
     }
 
-    public Page<ComesticDTO> listShop(Pageable pageable) {
-        Pageable effectivePageable = normalizePageable(pageable);
-        List<ComesticDTO> list = fortniteApiService.getShopItems();
-        return paginate(list, effectivePageable);
+    public Page<ComesticDTO> listNew(CatalogSnapshot snapshot, Pageable pageable) {
+        return paginate(snapshot.newCosmetics(), null, normalizePageable(pageable), Sort.unsorted());
     }
 
-    public ComesticDTO getById(String id) {
-        return fortniteApiService.getCosmeticById(id);
+    public Page<ComesticDTO> listShop(CatalogSnapshot snapshot, Pageable pageable) {
+        return paginate(snapshot.shop(), null, normalizePageable(pageable), Sort.unsorted());
     }
 
-    private List<ComesticDTO> applyFilter(List<ComesticDTO> list, ComesticFilterDTO comestic) {
-        if (list == null || list.isEmpty()) {
-            return List.of();
+    /**
+     * ETag de {@link #listAll}, calculado sem filtrar nem paginar; vazio se o snapshot não foi carregado.
+     */
+    public Optional<CatalogETag> etagForAll(CatalogSnapshot snapshot, Pageable pageable, ComesticFilterDTO filter) {
+        List<Object> criteria = filter == null
+                ? List.of()
+                : Arrays.asList(filter.getName(), filter.getType(), filter.getRarity(), filter.getIsNew(), filter.getIsOnSale());
+        return etag(snapshot, CatalogSnapshot::cosmetics, pageable, criteria);
+    }
+
+    public Optional<CatalogETag> etagForNew(CatalogSnapshot snapshot, Pageable pageable) {
+        return etag(snapshot, CatalogSnapshot::newCosmetics, pageable, List.of());
+    }
+
+    public Optional<CatalogETag> etagForShop(CatalogSnapshot snapshot, Pageable pageable) {
+        return etag(snapshot, CatalogSnapshot::shop, pageable, List.of());
+    }
+
+    private Optional<CatalogETag> etag(CatalogSnapshot snapshot, Function<CatalogSnapshot, CatalogView> section,
+                                       Pageable pageable, List<Object> criteria) {
+        if (!snapshot.isLoaded()) {
+            return Optional.empty();
         }
-        if (comestic == null) return sortByName(list);
-        return list.stream()
-                .filter(c -> comestic.getName() == null || containsIgnoreCase(c.getName(), comestic.getName()))
-                .filter(c -> comestic.getType() == null || Objects.equals(c.getType(), comestic.getType()))
-                .filter(c -> comestic.getRarity() == null || Objects.equals(c.getRarity(), comestic.getRarity()))
-                .filter(c -> comestic.getIsNew() == null || Objects.equals(c.getIsNew(), comestic.getIsNew()))
-                .filter(c -> comestic.getIsOnSale() == null || Objects.equals(c.getIsOnSale(), comestic.getIsOnSale()))
-                .collect(Collectors.collectingAndThen(Collectors.toList(), this::sortByName));
+        Pageable effectivePageable = normalizePageable(pageable);
+        StringBuilder key = new StringBuilder();
+        appendKeyPart(key, section.apply(snapshot).contentHash());
+        appendKeyPart(key, effectivePageable.getPageNumber());
+        appendKeyPart(key, effectivePageable.getPageSize());
+        appendKeyPart(key, effectivePageable.getSort());
+        criteria.forEach(part -> appendKeyPart(key, part));
+        return Optional.of(new CatalogETag(CatalogView.hash(key.toString()), snapshot.refreshedAt()));
     }
 
-    private boolean containsIgnoreCase(String text, String token) {
-        if (text == null || token == null) return false;
-        return text.toLowerCase(Locale.ROOT).contains(token.toLowerCase(Locale.ROOT));
+    // cada parte leva o próprio tamanho (nulo vira "-"), então vírgulas, "null" literal ou partes vizinhas não colidem
+    private static void appendKeyPart(StringBuilder key, Object part) {
+        if (part == null) {
+            key.append('-');
+            return;
+        }
+        String value = part.toString();
+        key.append(value.length()).append(':').append(value);
+    }
+
+    public ComesticDTO getById(String id) {
+        return fortniteApiService.getCosmeticById(id);
     }
 
-    private Page<ComesticDTO> paginate(List<ComesticDTO> list, Pageable pageable) {
-        if (list == null || list.isEmpty()) {
+    private Page<ComesticDTO> paginate(CatalogView view, ComesticFilterDTO filter, Pageable pageable, Sort defaultSort) {
+        if (view.isEmpty()) {
             return new PageImpl<>(Collections.emptyList(), pageable, 0);
         }
+        int[] order = view.sortOrders().order(pageable.getSort());
+        if (order == null) {
+            order = view.sortOrders().order(defaultSort);
+        }
+
+        BitSet matches = hasCriteria(filter) ? view.index().match(filter) : null;
+        int total = matches != null ? matches.cardinality() : view.size();
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(Collections.emptyList(), pageable, total);
+        }
         int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), list.size());
-        if (start >= list.size()) {
-            return new PageImpl<>(Collections.emptyList(), pageable, list.size());
+        int end = Math.min(start + pageable.getPageSize(), total);
+        List<ComesticDTO> content = new ArrayList<>(end - start);
+
+        if (matches == null) {
+            for (int i = start; i < end; i++) {
+                content.add(view.items().get(order != null ? order[i] : i));
+            }
+            return new PageImpl<>(content, pageable, total);
         }
-        List<ComesticDTO> content = list.subList(start, end);
-        return new PageImpl<>(content, pageable, list.size());
+
+        int rank = 0;
+        for (int i = 0; i < view.size() && rank < end; i++) {
+            int position = order != null ? order[i] : i;
+            if (matches.get(position) && rank++ >= start) {
+                content.add(view.items().get(position));
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
     }
 
-    private List<ComesticDTO> sortByName(List<ComesticDTO> cosmetics) {
-        return cosmetics.stream()
-                .sorted(Comparator.comparing(ComesticDTO::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
-                .collect(Collectors.toList());
+    private boolean hasCriteria(ComesticFilterDTO filter) {
+        return filter != null && (filter.getName() != null || filter.getType() != null || filter.getRarity() != null
+                || filter.getIsNew() != null || filter.getIsOnSale() != null);
     }
 
     private Pageable normalizePageable(Pageable pageable) {
@@ -89,4 +143,3 @@ public class ComesticService {
         return pageable;
     }
 }
-
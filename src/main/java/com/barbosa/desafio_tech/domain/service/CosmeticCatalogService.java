@@ -0,0 +1,109 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CosmeticCatalogService {
+
+    private static final String REFRESH_KEY = "catalog:refresh";
+
+    private final FortniteApiService fortniteApiService;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final UpstreamRequestCoalescer requestCoalescer;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>(CatalogSnapshot.EMPTY);
+
+    @PostConstruct
+    void loadPersistedSnapshot() {
+        catalogSnapshotStore.load().ifPresent(snapshot::set);
+    }
+
+    /**
+     * Snapshot atual. Antes do primeiro carregamento, todos os chamadores aguardam o mesmo refresh em andamento.
+     */
+    public Mono<CatalogSnapshot> current() {
+        CatalogSnapshot current = snapshot.get();
+        return current.isLoaded() ? Mono.just(current) : refreshAsync();
+    }
+
+    /**
+     * Snapshot atual sem esperar o primeiro carregamento; pode ser {@link CatalogSnapshot#EMPTY}.
+     */
+    public CatalogSnapshot peek() {
+        return snapshot.get();
+    }
+
+    @Scheduled(initialDelayString = "${fortnite.catalog.initial-delay:PT0S}",
+            fixedDelayString = "${fortnite.catalog.refresh-interval:PT10M}")
+    public void refresh() {
+        refreshAsync().block();
+    }
+
+    /**
+     * Enquanto nenhum catálogo foi carregado (API fora do ar na inicialização e sem snapshot em disco), tenta de novo
+     * em intervalos curtos em vez de esperar o próximo {@code refresh-interval}.
+     */
+    @Scheduled(initialDelayString = "${fortnite.catalog.retry-interval:PT30S}",
+            fixedDelayString = "${fortnite.catalog.retry-interval:PT30S}")
+    public void retryUntilLoaded() {
+        if (!snapshot.get().isLoaded()) {
+            refresh();
+        }
+    }
+
+    private Mono<CatalogSnapshot> refreshAsync() {
+        return requestCoalescer.coalesce(REFRESH_KEY, () -> Mono.zip(
+                        fortniteApiService.getAllCosmetics(),
+                        fortniteApiService.getNewCosmetics(),
+                        fortniteApiService.getShopItems())
+                .publishOn(Schedulers.boundedElastic())
+                .map(lists -> publish(lists.getT1(), lists.getT2(), lists.getT3())));
+    }
+
+    private CatalogSnapshot publish(List<ComesticDTO> fetchedCosmetics, List<ComesticDTO> fetchedNew, List<ComesticDTO> fetchedShop) {
+        CatalogSnapshot previous = snapshot.get();
+        if (!previous.isLoaded() && fetchedCosmetics.isEmpty() && fetchedNew.isEmpty() && fetchedShop.isEmpty()) {
+            // as três chamadas falharam (o fallback devolve lista vazia): não publica nem grava um catálogo vazio
+            log.warn("API do Fortnite indisponível e nenhum catálogo carregado; nova tentativa em breve");
+            return previous;
+        }
+
+        List<ComesticDTO> cosmetics = keepPreviousIfEmpty(fetchedCosmetics, previous.cosmetics().items(), "/cosmetics");
+        List<ComesticDTO> newCosmetics = keepPreviousIfEmpty(fetchedNew, previous.newCosmetics().items(), "/cosmetics/new");
+        List<ComesticDTO> shop = keepPreviousIfEmpty(fetchedShop, previous.shop().items(), "/shop");
+
+        CatalogSnapshot next = CatalogSnapshot.of(previous.version() + 1, Instant.now(), cosmetics, newCosmetics, shop);
+        if (previous.isLoaded() && next.contentHash().equals(previous.contentHash())) {
+            // mantém versão e data da última mudança, para que ETag e Last-Modified continuem valendo
+            log.debug("Catálogo sem alterações, mantendo a versão {}", previous.version());
+            return previous;
+        }
+        snapshot.set(next);
+        log.info("Catálogo atualizado para a versão {} ({} cosméticos, {} novos, {} na loja)",
+                next.version(), cosmetics.size(), newCosmetics.size(), shop.size());
+        catalogSnapshotStore.save(next);
+        return next;
+    }
+
+    private List<ComesticDTO> keepPreviousIfEmpty(List<ComesticDTO> fetched, List<ComesticDTO> previous, String path) {
+        if (fetched.isEmpty() && !previous.isEmpty()) {
+            log.warn("API do Fortnite retornou {} vazio, mantendo os {} itens da versão anterior", path, previous.size());
+            return previous;
+        }
+        return fetched;
+    }
+}
@@ -0,0 +1,110 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class CosmeticLookupService {
+
+    private final CosmeticCatalogService cosmeticCatalogService;
+    private final FortniteApiService fortniteApiService;
+    private final Cache<String, Optional<ComesticDTO>> upstreamResults;
+    private final int maxConcurrency;
+
+    public CosmeticLookupService(CosmeticCatalogService cosmeticCatalogService,
+                                 FortniteApiService fortniteApiService,
+                                 @Value("${fortnite.lookup.cache-ttl:PT10M}") Duration cacheTtl,
+                                 @Value("${fortnite.lookup.negative-cache-ttl:PT2M}") Duration negativeCacheTtl,
+                                 @Value("${fortnite.lookup.cache-size:10000}") long cacheSize,
+                                 @Value("${fortnite.lookup.max-concurrency:8}") int maxConcurrency) {
+        this.cosmeticCatalogService = cosmeticCatalogService;
+        this.fortniteApiService = fortniteApiService;
+        this.maxConcurrency = maxConcurrency;
+        this.upstreamResults = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, Optional<ComesticDTO>>() {
+                    @Override
+                    public long expireAfterCreate(String id, Optional<ComesticDTO> result, long currentTime) {
+                        return (result.isPresent() ? cacheTtl : negativeCacheTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Optional<ComesticDTO> result, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, result, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Optional<ComesticDTO> result, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public Mono<List<ComesticDTO>> lookup(List<String> ids) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !id.isBlank()) {
+                requested.add(id);
+            }
+        }
+        return cosmeticCatalogService.current().flatMap(snapshot -> lookup(snapshot, requested));
+    }
+
+    private Mono<List<ComesticDTO>> lookup(CatalogSnapshot snapshot, Set<String> requested) {
+        Map<String, ComesticDTO> found = new ConcurrentHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : requested) {
+            ComesticDTO cosmetic = snapshot.findById(id);
+            if (cosmetic != null) {
+                found.put(id, cosmetic);
+                continue;
+            }
+            Optional<ComesticDTO> cached = upstreamResults.getIfPresent(id);
+            if (cached == null) {
+                misses.add(id);
+            } else {
+                cached.ifPresent(dto -> found.put(id, dto));
+            }
+        }
+
+        return Flux.fromIterable(misses)
+                .flatMap(this::fetchUpstream, maxConcurrency)
+                .doOnNext(result -> result.getValue().ifPresent(dto -> found.put(result.getKey(), dto)))
+                .then(Mono.fromSupplier(() -> requested.stream()
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .toList()));
+    }
+
+    private Mono<Map.Entry<String, Optional<ComesticDTO>>> fetchUpstream(String id) {
+        return fortniteApiService.findCosmeticById(id)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(result -> upstreamResults.put(id, result))
+                .map(result -> Map.entry(id, result))
+                .onErrorResume(ex -> {
+                    log.warn("Falha ao consultar cosmetic {} na API do Fortnite", id, ex);
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,160 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.ExportFormat;
+import com.barbosa.desafio_tech.domain.dto.TransactionDTO;
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
+import com.barbosa.desafio_tech.domain.repository.TransactionRepository;
+import com.barbosa.desafio_tech.domain.repository.UserComesticRepository;
+import com.barbosa.desafio_tech.domain.repository.UserRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exporta extrato e inventário linha a linha direto no corpo da resposta. As consultas são lidas com cursor
+ * (fetch size fixo) dentro de uma transação somente leitura, então o heap usado não cresce com a quantidade de linhas.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private static final List<String> TRANSACTION_COLUMNS =
+            List.of("id", "userId", "type", "amount", "balanceAfter", "referenceId", "createdAt");
+    private static final List<String> COSMETIC_COLUMNS =
+            List.of("id", "userId", "cosmeticId", "cosmeticName", "price", "rarity", "isActive");
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final UserComesticRepository userComesticRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(TransactionRepository transactionRepository, UserComesticRepository userComesticRepository,
+                         UserRepository userRepository, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.userComesticRepository = userComesticRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportTransactions(Long userId, ExportFormat format) {
+        requireUser(userId);
+        return export(() -> transactionRepository.streamByUserId(userId), format, TRANSACTION_COLUMNS, this::transactionValues);
+    }
+
+    public StreamingResponseBody exportAllTransactions(ExportFormat format) {
+        return export(transactionRepository::streamAll, format, TRANSACTION_COLUMNS, this::transactionValues);
+    }
+
+    public StreamingResponseBody exportCosmetics(Long userId, ExportFormat format) {
+        requireUser(userId);
+        return export(() -> userComesticRepository.streamByUserId(userId), format, COSMETIC_COLUMNS, this::cosmeticValues);
+    }
+
+    public StreamingResponseBody exportAllCosmetics(ExportFormat format) {
+        return export(userComesticRepository::streamAll, format, COSMETIC_COLUMNS, this::cosmeticValues);
+    }
+
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(userId);
+        }
+    }
+
+    private <T> StreamingResponseBody export(Supplier<Stream<T>> query, ExportFormat format,
+                                             List<String> columns, Function<T, List<Object>> values) {
+        return output -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> rows = query.get()) {
+                long written = format == ExportFormat.CSV
+                        ? writeCsv(rows.iterator(), output, columns, values)
+                        : writeNdjson(rows.iterator(), output);
+                log.debug("Exportação {} concluída com {} linhas", format, written);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> long writeNdjson(Iterator<T> rows, OutputStream output) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, OutputStream output, List<String> columns,
+                              Function<T, List<Object>> values) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writeCsvLine(writer, columns);
+        while (rows.hasNext()) {
+            writeCsvLine(writer, values.apply(rows.next()));
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private List<Object> transactionValues(TransactionDTO t) {
+        return Arrays.asList(t.getId(), t.getUserId(), t.getType(), t.getAmount(), t.getBalanceAfter(),
+                t.getReferenceId(), t.getCreatedAt());
+    }
+
+    private List<Object> cosmeticValues(UserCosmeticDTO c) {
+        return Arrays.asList(c.getId(), c.getUserId(), c.getCosmeticId(), c.getCosmeticName(), c.getPrice(),
+                c.getRarity(), c.getIsActive());
+    }
+}
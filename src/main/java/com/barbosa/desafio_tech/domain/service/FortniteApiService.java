@@ -1,13 +1,17 @@
 package com.barbosa.desafio_tech.domain.service;
 
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
-import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsResponse;
+import com.barbosa.desafio_tech.domain.response.FortniteCosmeticsStreamDecoder;
 import com.barbosa.desafio_tech.domain.response.FortniteNewComesticResponse;
 import com.barbosa.desafio_tech.domain.response.FortniteShopResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
@@ -24,17 +28,18 @@ public class FortniteApiService {
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
 
     private final WebClient fortniteWebClient;
+    private final UpstreamRequestCoalescer requestCoalescer;
 
-    public List<ComesticDTO> getAllCosmetics() {
-        return fetchCosmetics("/cosmetics", false);
+    public Mono<List<ComesticDTO>> getAllCosmetics() {
+        return requestCoalescer.coalesce("/cosmetics", () -> fetchCosmetics("/cosmetics", false));
     }
 
-    public List<ComesticDTO> getNewCosmetics() {
-        return fetchCosmeticsNew("/cosmetics/new", false);
+    public Mono<List<ComesticDTO>> getNewCosmetics() {
+        return requestCoalescer.coalesce("/cosmetics/new", () -> fetchCosmeticsNew("/cosmetics/new", false));
     }
 
-    public List<ComesticDTO> getShopItems() {
-        return fetchShop("/shop", true);
+    public Mono<List<ComesticDTO>> getShopItems() {
+        return requestCoalescer.coalesce("/shop", () -> fetchShop("/shop", true));
     }
 
     public ComesticDTO getCosmeticById(String id) {
@@ -42,14 +47,7 @@ public class FortniteApiService {
             return null;
         }
 
-        return fortniteWebClient
-                .get()
-                .uri(uriBuilder -> uriBuilder.path("/cosmetics/br/{id}").build(id))
-                .retrieve()
-                .bodyToMono(FortniteSingleResponse.class)
-                .timeout(DEFAULT_TIMEOUT)
-                .map(FortniteSingleResponse::data)
-                .map(this::mapCosmetic)
+        return findCosmeticById(id)
                 .onErrorResume(ex -> {
                     log.warn("Falha ao consultar cosmetic {} na API do Fortnite", id, ex);
                     return Mono.empty();
@@ -58,96 +56,83 @@ public class FortniteApiService {
                 .orElse(null);
     }
 
-    private List<ComesticDTO> fetchCosmeticsNew(String path, boolean markAsSale) {
-        try {
-            return fortniteWebClient.get()
-                    .uri(path)
-                    .retrieve()
-                    .bodyToMono(FortniteNewComesticResponse.class)
-                    .timeout(DEFAULT_TIMEOUT)
-                    .map(response -> mapCosmetics(response.getData().getItems(), markAsSale))
-                    .blockOptional()
-                    .orElse(List.of());
-        } catch (Exception ex) {
-            log.warn("Falha ao consultar {} na API do Fortnite", path, ex);
-            return List.of();
-        }
+    /**
+     * Busca um cosmético na API. Completa vazio quando a API responde 404 e propaga os demais erros,
+     * para que o chamador consiga diferenciar "não existe" de "não foi possível consultar".
+     */
+    public Mono<ComesticDTO> findCosmeticById(String id) {
+        return requestCoalescer.coalesce("/cosmetics/br/" + id, () -> fetchCosmeticById(id));
     }
 
-    private List<ComesticDTO> fetchCosmetics(String path, boolean markAsSale) {
-        try {
-            return fortniteWebClient.get()
-                    .uri(path)
-                    .retrieve()
-                    .bodyToMono(FortniteCosmeticsResponse.class)
-                    .timeout(DEFAULT_TIMEOUT)
-                    .map(response -> {
-                        if (response.getData() == null || response.getData().getBr() == null) {
-                            return List.<ComesticDTO>of();
-                        }
-                        return mapCosmeticsAll(response.getData().getBr(), markAsSale);
-                    })
-                    .blockOptional()
-                    .orElse(List.of());
-        } catch (Exception ex) {
-            log.warn("Falha ao consultar {} na API do Fortnite", path, ex);
-            return List.of();
-        }
+    private Mono<ComesticDTO> fetchCosmeticById(String id) {
+        return fortniteWebClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/cosmetics/br/{id}").build(id))
+                .retrieve()
+                .bodyToMono(FortniteSingleResponse.class)
+                .timeout(DEFAULT_TIMEOUT)
+                .mapNotNull(FortniteSingleResponse::data)
+                .mapNotNull(this::mapCosmetic)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty());
     }
 
-
-
-
-    private List<ComesticDTO> fetchShop(String path, boolean markAsSale) {
-        try {
-            return fortniteWebClient.get()
-                    .uri(path)
-                    .retrieve()
-                    .bodyToMono(FortniteShopResponse.class)
-                    .timeout(DEFAULT_TIMEOUT)
-                    .map(response -> {
-                        var entries = response.getData() != null ? response.getData().getEntries() : List.<FortniteShopResponse.StoreEntry>of();
-                        return entries.stream()
-                                .map(entry -> mapCosmeticShop(entry, markAsSale))
-                                .filter(Objects::nonNull)
-                                .toList();
-                    })
-                    .blockOptional()
-                    .orElse(List.of());
-        } catch (Exception ex) {
-            log.warn("Falha ao consultar {} na API do Fortnite", path, ex);
-            return List.of();
-        }
+    private Mono<List<ComesticDTO>> fetchCosmeticsNew(String path, boolean markAsSale) {
+        return fortniteWebClient.get()
+                .uri(path)
+                .retrieve()
+                .bodyToMono(FortniteNewComesticResponse.class)
+                .timeout(DEFAULT_TIMEOUT)
+                .map(response -> mapCosmetics(response.getData().getItems(), markAsSale))
+                .onErrorResume(ex -> fallback(path, ex));
     }
 
-    private List<ComesticDTO> mapCosmeticsAll(List<FortniteCosmeticsResponse.CosmeticItem> items, boolean markAsSale) {
-        if (items == null || items.isEmpty()) {
-            return List.of();
-        }
-
-        return items.stream()
-                .map(this::mapCosmetic)
-                .filter(Objects::nonNull)
+    private Mono<List<ComesticDTO>> fetchCosmetics(String path, boolean markAsSale) {
+        return Flux.defer(() -> {
+                    FortniteCosmeticsStreamDecoder decoder = new FortniteCosmeticsStreamDecoder();
+                    return fortniteWebClient.get()
+                            .uri(path)
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)
+                            .concatMapIterable(buffer -> decoder.feed(readAndRelease(buffer)))
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.complete())));
+                })
                 .map(dto -> markAsSale ? withSaleFlag(dto) : dto)
-                .collect(Collectors.toList());
+                .collectList()
+                // prazo para a resposta inteira, não entre itens: um upstream lento não segura o refresh indefinidamente
+                .timeout(DEFAULT_TIMEOUT)
+                .onErrorResume(ex -> fallback(path, ex));
     }
 
-    private ComesticDTO mapCosmetic(FortniteCosmeticsResponse.CosmeticItem item) {
-        if (item == null) {
-            return null;
+    private byte[] readAndRelease(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
         }
-
-        ComesticDTO dto = new ComesticDTO();
-        dto.setId(item.getId());
-        dto.setName(item.getName());
-        dto.setType(item.getType() != null ? item.getType().getDisplayValue() : null);
-        dto.setRarity(item.getRarity() != null ? item.getRarity().getDisplayValue() : null);
-        dto.setImageUrl(item.getImages() != null ? item.getImages().getSmallIcon() : null);
-        return dto;
     }
 
+    private Mono<List<ComesticDTO>> fetchShop(String path, boolean markAsSale) {
+        return fortniteWebClient.get()
+                .uri(path)
+                .retrieve()
+                .bodyToMono(FortniteShopResponse.class)
+                .timeout(DEFAULT_TIMEOUT)
+                .map(response -> {
+                    var entries = response.getData() != null ? response.getData().getEntries() : List.<FortniteShopResponse.StoreEntry>of();
+                    return entries.stream()
+                            .map(entry -> mapCosmeticShop(entry, markAsSale))
+                            .filter(Objects::nonNull)
+                            .toList();
+                })
+                .onErrorResume(ex -> fallback(path, ex));
+    }
 
-
+    private Mono<List<ComesticDTO>> fallback(String path, Throwable ex) {
+        log.warn("Falha ao consultar {} na API do Fortnite", path, ex);
+        return Mono.just(List.of());
+    }
 
     private ComesticDTO mapCosmeticShop(FortniteShopResponse.StoreEntry entry, boolean markAsSale) {
         if (entry == null) {
@@ -0,0 +1,188 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.UserDTO;
+import com.barbosa.desafio_tech.domain.entities.IdempotencyRecord;
+import com.barbosa.desafio_tech.domain.repository.IdempotencyRecordRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.IdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Garante que uma operação de carteira repetida com o mesmo {@code Idempotency-Key} seja aplicada uma única vez.
+ * A resposta fica em um cache limitado em memória (requisições simultâneas com a mesma chave aguardam a primeira)
+ * e em {@code tb_idempotency_keys}, gravada na mesma transação da operação, junto com o hash do corpo da
+ * requisição: reutilizar a chave com outro corpo é rejeitado em vez de devolver a resposta anterior.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final WalletMutationExecutor walletMutationExecutor;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+    private final Duration retention;
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              WalletMutationExecutor walletMutationExecutor,
+                              ObjectMapper objectMapper,
+                              @Value("${app.idempotency.retention:PT24H}") Duration retention,
+                              @Value("${app.idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.walletMutationExecutor = walletMutationExecutor;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = JsonMapper.builder()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .findAndAddModules()
+                .build();
+        this.retention = retention;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    public record Outcome(UserDTO body, boolean replayed) {
+    }
+
+    private record StoredResponse(String operation, String requestHash, UserDTO body) {
+    }
+
+    public Outcome execute(Long userId, String idempotencyKey, String operation, Object request,
+                           Supplier<UserDTO> mutation) {
+        if (idempotencyKey == null) {
+            return new Outcome(mutation.get(), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException("Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+
+        String requestHash = requestHash(operation, request);
+        String cacheKey = userId + ":" + idempotencyKey;
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = responses.asMap().putIfAbsent(cacheKey, pending);
+        if (existing != null) {
+            return replay(await(existing), operation, requestHash);
+        }
+
+        try {
+            Outcome outcome = apply(userId, idempotencyKey, operation, requestHash, mutation);
+            pending.complete(new StoredResponse(operation, requestHash, outcome.body()));
+            return outcome;
+        } catch (RuntimeException e) {
+            responses.asMap().remove(cacheKey, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Outcome apply(Long userId, String idempotencyKey, String operation, String requestHash,
+                          Supplier<UserDTO> mutation) {
+        try {
+            return walletMutationExecutor.execute(userId, () -> {
+                Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+                if (stored.isPresent()) {
+                    return replay(toResponse(stored.get()), operation, requestHash);
+                }
+                UserDTO body = mutation.get();
+                idempotencyRecordRepository.save(new IdempotencyRecord(null, userId, idempotencyKey, operation,
+                        requestHash, writeBody(body), LocalDateTime.now()));
+                return new Outcome(body, false);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // outra instância gravou a mesma chave primeiro; a operação desta foi desfeita junto com a transação
+            IdempotencyRecord stored = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .orElseThrow(() -> e);
+            return replay(toResponse(stored), operation, requestHash);
+        }
+    }
+
+    private Outcome replay(StoredResponse stored, String operation, String requestHash) {
+        if (!stored.operation().equals(operation)) {
+            throw new IdempotencyKeyException("Idempotency-Key já utilizado em outra operação (" + stored.operation() + ")");
+        }
+        // registros gravados antes do hash existir não têm com o que comparar
+        if (stored.requestHash() != null && !stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyException("Idempotency-Key já utilizado com outro corpo de requisição");
+        }
+        return new Outcome(stored.body(), true);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private StoredResponse toResponse(IdempotencyRecord record) {
+        try {
+            return new StoredResponse(record.getOperation(), record.getRequestHash(), objectMapper.readValue(record.getResponseBody(), UserDTO.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta armazenada para o Idempotency-Key é inválida", e);
+        }
+    }
+
+    private String requestHash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0x1F);
+            digest.update(canonicalMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular o hash da requisição do Idempotency-Key", e);
+        }
+    }
+
+    private String writeBody(UserDTO body) {
+        // a senha não é persistida junto com a resposta
+        UserDTO stored = UserDTO.builder()
+                .id(body.getId())
+                .name(body.getName())
+                .email(body.getEmail())
+                .vbucks(body.getVbucks())
+                .build();
+        try {
+            return objectMapper.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível armazenar a resposta do Idempotency-Key", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("{} registros de Idempotency-Key expirados removidos", removed);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.repository.LedgerPartitionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Mantém o extrato particionado por mês: cria as partições dos próximos meses e move para as tabelas de arquivo as
+ * transações e as posses reembolsadas mais antigas que {@code app.ledger.archive.retention-months}. Extrato,
+ * exportações e resumos leem também o arquivo ({@code TransactionHistory}, {@code UserCosmeticHistory}).
+ */
+@Service
+@Slf4j
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "app.ledger.partitioning.enabled", havingValue = "true")
+public class LedgerArchiveService {
+
+    private final LedgerPartitionRepository ledgerPartitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public LedgerArchiveService(LedgerPartitionRepository ledgerPartitionRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.ledger.partitioning.months-ahead:3}") int monthsAhead,
+                                @Value("${app.ledger.archive.retention-months:12}") int retentionMonths) {
+        this.ledgerPartitionRepository = ledgerPartitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @PostConstruct
+    void migrate() {
+        Boolean converted = transactionTemplate.execute(status -> ledgerPartitionRepository.convertLedgerToPartitioned());
+        if (Boolean.TRUE.equals(converted)) {
+            log.info("Tabela {} convertida para particionamento mensal", LedgerPartitionRepository.LEDGER_TABLE);
+        }
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.ledger.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            transactionTemplate.executeWithoutResult(status -> ledgerPartitionRepository.createMonthlyPartition(month));
+        }
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        LocalDateTime cutoff = oldestKept.atDay(1).atStartOfDay();
+        ledgerPartitionRepository.monthlyPartitions().stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .forEach(month -> {
+                    Integer moved = transactionTemplate.execute(status -> ledgerPartitionRepository.archivePartition(month));
+                    log.info("Partição {} do extrato arquivada ({} transações)", month, moved);
+                });
+
+        Integer movedDefault = transactionTemplate.execute(status -> ledgerPartitionRepository.archiveDefaultPartitionBefore(cutoff));
+        Integer movedOwnerships = transactionTemplate.execute(status -> ledgerPartitionRepository.archiveRefundedOwnershipsBefore(cutoff));
+        if (movedDefault != null && movedDefault > 0 || movedOwnerships != null && movedOwnerships > 0) {
+            log.info("{} transações da partição padrão e {} posses reembolsadas arquivadas", movedDefault, movedOwnerships);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.barbosa.desafio_tech.domain.service;
 
+import com.barbosa.desafio_tech.config.ReplicaDataSourceRouter;
 import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.LedgerCursor;
+import com.barbosa.desafio_tech.domain.dto.LedgerPageDTO;
+import com.barbosa.desafio_tech.domain.dto.TransactionDTO;
 import com.barbosa.desafio_tech.domain.dto.UserDTO;
 import com.barbosa.desafio_tech.domain.entities.Transaction;
 import com.barbosa.desafio_tech.domain.entities.User;
@@ -12,13 +16,24 @@ import com.barbosa.desafio_tech.domain.repository.UserComesticRepository;
 import com.barbosa.desafio_tech.domain.repository.UserRepository;
 import com.barbosa.desafio_tech.domain.service.serviceException.ActiveUserException;
 import com.barbosa.desafio_tech.domain.service.serviceException.ComesticNotFoundException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InsufficientBalanceException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCartException;
 import com.barbosa.desafio_tech.domain.service.serviceException.PriceInvalidException;
 import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -28,62 +43,169 @@ public class TransactionsService {
     private final TransactionRepository transactionRepository;
     private final UserComesticRepository userComesticRepository;
     private final UserMapper userMapper;
+    private final WalletMutationExecutor walletMutationExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserReadCache userReadCache;
+    private final UserSummaryService userSummaryService;
 
-    @Transactional
-    public UserDTO purchaseCosmetic(Long userId, ComesticDTO cosmetic) {
-        User user = loadUser(userId);
+    private static final int MAX_LEDGER_PAGE_SIZE = 200;
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LEDGER_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
+    public UserDTO purchaseCosmetic(Long userId, ComesticDTO cosmetic) {
         Integer price = cosmetic.getPrice();
         if (price == null || price <= 0) {
             throw new PriceInvalidException("Preço inválido para o item");
         }
-        if (userComesticRepository.existsByUserIdAndCosmeticIdAndIsActiveTrue(userId, cosmetic.getId())) {
+        boolean cachedAsOwned = userReadCache.activeCosmeticIds(userId).contains(cosmetic.getId());
+        return walletMutationExecutor.execute(userId, () -> applyPurchase(userId, cosmetic, price, cachedAsOwned));
+    }
+
+    /**
+     * O cache só dispensa a consulta de posse: se ele não conhece o item, a compra segue e o índice
+     * único barra uma posse criada por outra instância; se ele conhece, a posse é confirmada no banco.
+     */
+    private UserDTO applyPurchase(Long userId, ComesticDTO cosmetic, int price, boolean cachedAsOwned) {
+        if (cachedAsOwned
+                && userComesticRepository.existsByUserIdAndCosmeticIdAndIsActiveTrue(userId, cosmetic.getId())) {
             throw new ActiveUserException("Usuário já possui esse item ativo");
         }
-        if (user.getVbucks() < price) {
-            throw new IllegalStateException("Saldo insuficiente");
+        debit(userId, price);
+        User user = loadUser(userId);
+
+        UserCosmetic ownership = newOwnership(user, cosmetic);
+        try {
+            userComesticRepository.saveAndFlush(ownership);
+        } catch (DataIntegrityViolationException e) {
+            throw new ActiveUserException("Usuário já possui esse item ativo");
         }
 
-        user.setVbucks(user.getVbucks() - price);
+        recordTransaction(user, Type.PURCHASE, -price, cosmetic.getId());
+        userSummaryService.recordPurchases(userId, List.of(ownership));
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
 
-        UserCosmetic userCosmetic = new UserCosmetic();
-        userCosmetic.setCosmeticId(cosmetic.getId());
-        userCosmetic.setCosmeticName(cosmetic.getName());
-        userCosmetic.setPrice(price);
-        userCosmetic.setRarity(cosmetic.getRarity());
-        userCosmetic.setUser(user);
+        return userMapper.toDto(user);
+    }
 
-        userComesticRepository.save(userCosmetic);
+    public UserDTO checkout(Long userId, List<ComesticDTO> items) {
+        Set<String> cosmeticIds = new HashSet<>();
+        int total = 0;
+        for (ComesticDTO item : items) {
+            if (item.getPrice() == null || item.getPrice() <= 0) {
+                throw new PriceInvalidException("Preço inválido para o item " + item.getId());
+            }
+            if (item.getId() == null || !cosmeticIds.add(item.getId())) {
+                throw new InvalidCartException("Item inválido ou repetido no carrinho: " + item.getId());
+            }
+            total = Math.addExact(total, item.getPrice());
+        }
+        boolean cachedAsOwned = cosmeticIds.stream().anyMatch(userReadCache.activeCosmeticIds(userId)::contains);
+        int cartTotal = total;
+        return walletMutationExecutor.execute(userId,
+                () -> applyCheckout(userId, items, cosmeticIds, cartTotal, cachedAsOwned));
+    }
 
-        recordTransaction(user, Type.PURCHASE, -price, cosmetic.getId());
+    private UserDTO applyCheckout(Long userId, List<ComesticDTO> items, Set<String> cosmeticIds, int total,
+                                  boolean cachedAsOwned) {
+        if (cachedAsOwned && userComesticRepository.findActiveCosmeticIdsByUserId(userId).stream()
+                .anyMatch(cosmeticIds::contains)) {
+            throw new ActiveUserException("Usuário já possui um dos itens do carrinho ativo");
+        }
+        debit(userId, total);
+        User user = loadUser(userId);
+
+        List<UserCosmetic> ownerships = new ArrayList<>(items.size());
+        List<Transaction> purchases = new ArrayList<>(items.size());
+        int balance = user.getVbucks() + total;
+        for (ComesticDTO item : items) {
+            ownerships.add(newOwnership(user, item));
+            balance -= item.getPrice();
+            purchases.add(newTransaction(user, Type.PURCHASE, -item.getPrice(), balance, item.getId()));
+        }
+
+        try {
+            userComesticRepository.saveAllAndFlush(ownerships);
+        } catch (DataIntegrityViolationException e) {
+            throw new ActiveUserException("Usuário já possui um dos itens do carrinho ativo");
+        }
+        transactionRepository.saveAll(purchases);
+        userSummaryService.recordPurchases(userId, ownerships);
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
 
         return userMapper.toDto(user);
     }
 
-    @Transactional
     public UserDTO refundCosmetic(Long userId, String cosmeticId, Integer amount) {
-        User user = loadUser(userId);
+        return walletMutationExecutor.execute(userId, () -> applyRefund(userId, cosmeticId, amount));
+    }
+
+    private UserDTO applyRefund(Long userId, String cosmeticId, Integer amount) {
         UserCosmetic cosmetic = userComesticRepository.findByUserIdAndCosmeticIdAndIsActiveTrue(userId, cosmeticId)
-                .orElseThrow(() -> new ComesticNotFoundException(userId, cosmeticId));
+                .orElseThrow(() -> userRepository.existsById(userId)
+                        ? new ComesticNotFoundException(userId, cosmeticId)
+                        : new ResourceNotFoundException(userId));
 
         cosmetic.setIsActive(false);
-        userComesticRepository.save(cosmetic);
+        cosmetic.setRefundedAt(LocalDateTime.now());
+        userComesticRepository.saveAndFlush(cosmetic);
 
         int refundAmount = amount != null ? amount : cosmetic.getPrice();
-        user.setVbucks(user.getVbucks() + refundAmount);
+        userRepository.creditVbucks(userId, refundAmount);
+        User user = loadUser(userId);
 
         recordTransaction(user, Type.REFUND, refundAmount, cosmeticId);
+        userSummaryService.recordRefund(userId, cosmetic, refundAmount);
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
 
         return userMapper.toDto(user);
     }
 
-    public List<Transaction> listTransactions(Long userId) {
-        loadUser(userId);
-        return transactionRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> listTransactions(Long userId) {
+        userReadCache.requireUser(userId);
+        return transactionRepository.findDtosByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
+    public LedgerPageDTO listLedger(Long userId, String cursor, int size, Collection<Type> types,
+                                   LocalDateTime from, LocalDateTime to) {
+        userReadCache.requireUser(userId);
+
+        LedgerCursor before = cursor != null
+                ? LedgerCursor.decode(cursor)
+                : new LedgerCursor(to != null ? to : LEDGER_END, Long.MAX_VALUE);
+        int pageSize = Math.clamp(size, 1, MAX_LEDGER_PAGE_SIZE);
+
+        List<TransactionDTO> rows = transactionRepository.findLedgerPage(
+                userId,
+                types == null || types.isEmpty() ? EnumSet.allOf(Type.class) : types,
+                from != null ? from : LEDGER_START,
+                before.createdAt(),
+                before.id(),
+                PageRequest.of(0, pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return new LedgerPageDTO(rows, null);
+        }
+        List<TransactionDTO> page = rows.subList(0, pageSize);
+        return new LedgerPageDTO(page, LedgerCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Saldo lido direto do primário: o cache de usuário serve apenas aos dados de perfil.
+     */
     public Integer getBalance(Long userId) {
-        return loadUser(userId).getVbucks();
+        return ReplicaDataSourceRouter.onPrimary(() -> userRepository.findVbucksById(userId))
+                .orElseThrow(() -> new ResourceNotFoundException(userId));
+    }
+
+    private void debit(Long userId, int amount) {
+        if (userRepository.debitVbucks(userId, amount) == 0) {
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException(userId);
+            }
+            throw new InsufficientBalanceException(userId, amount);
+        }
     }
 
     private User loadUser(Long id) {
@@ -92,14 +214,28 @@ public class TransactionsService {
     }
 
     public void recordTransaction(User user, Type type, int amount, String referenceId) {
+        transactionRepository.save(newTransaction(user, type, amount, user.getVbucks(), referenceId));
+    }
+
+    private UserCosmetic newOwnership(User user, ComesticDTO cosmetic) {
+        UserCosmetic userCosmetic = new UserCosmetic();
+        userCosmetic.setCosmeticId(cosmetic.getId());
+        userCosmetic.setCosmeticName(cosmetic.getName());
+        userCosmetic.setPrice(cosmetic.getPrice());
+        userCosmetic.setRarity(cosmetic.getRarity());
+        userCosmetic.setType(cosmetic.getType());
+        userCosmetic.setUser(user);
+        return userCosmetic;
+    }
+
+    private Transaction newTransaction(User user, Type type, int amount, int balanceAfter, String referenceId) {
         Transaction transaction = new Transaction();
         transaction.setUser(user);
         transaction.setType(type);
         transaction.setAmount(amount);
-        transaction.setBalanceAfter(user.getVbucks());
+        transaction.setBalanceAfter(balanceAfter);
         transaction.setReferenceId(referenceId);
-
-        transactionRepository.save(transaction);
+        return transaction;
     }
 
 }
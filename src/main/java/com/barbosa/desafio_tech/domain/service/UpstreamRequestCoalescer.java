@@ -0,0 +1,53 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes à API do Fortnite pela mesma chave (caminho + id): enquanto uma chamada está em
+ * andamento, os demais chamadores recebem o mesmo {@link Mono} em vez de abrir outra requisição.
+ */
+@Component
+public class UpstreamRequestCoalescer {
+
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public UpstreamRequestCoalescer(MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("fortnite.upstream.requests")
+                .description("Chamadas à API do Fortnite por resultado do agrupamento")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("fortnite.upstream.requests")
+                .description("Chamadas à API do Fortnite por resultado do agrupamento")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        meterRegistry.gauge("fortnite.upstream.in-flight", inFlight, Map::size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> created = new AtomicReference<>();
+            Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                AtomicReference<Mono<T>> self = new AtomicReference<>();
+                Mono<T> mono = call.get()
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .cache();
+                self.set(mono);
+                created.set(mono);
+                return mono;
+            });
+            (created.get() != null ? executed : coalesced).increment();
+            return shared;
+        });
+    }
+}
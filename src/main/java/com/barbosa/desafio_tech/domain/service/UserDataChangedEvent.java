@@ -0,0 +1,8 @@
+package com.barbosa.desafio_tech.domain.service;
+
+/**
+ * Publicado dentro da transação que altera saldo, inventário ou cadastro de um usuário; os ouvintes reagem
+ * com {@code @TransactionalEventListener} apenas depois do commit.
+ */
+public record UserDataChangedEvent(Long userId) {
+}
@@ -0,0 +1,63 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.config.ReplicaDataSourceRouter;
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
+import com.barbosa.desafio_tech.domain.inventory.OwnedCosmeticIndex;
+import com.barbosa.desafio_tech.domain.repository.UserComesticRepository;
+import com.barbosa.desafio_tech.domain.repository.UserRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Busca por nome nos cosméticos ativos de um usuário usando um {@link OwnedCosmeticIndex} mantido em memória.
+ * O índice é montado na primeira busca, lendo do primário, e descartado após o commit de qualquer compra ou
+ * reembolso do usuário nesta instância; alterações feitas por outras instâncias aparecem em até
+ * {@code app.inventory.search.ttl}, contado desde a montagem e não desde o último acesso.
+ */
+@Service
+public class UserInventorySearchService {
+
+    private final UserComesticRepository userComesticRepository;
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, OwnedCosmeticIndex> indexes;
+
+    public UserInventorySearchService(UserComesticRepository userComesticRepository,
+                                      UserRepository userRepository,
+                                      @Value("${app.inventory.search.cache-size:10000}") long cacheSize,
+                                      @Value("${app.inventory.search.ttl:PT5M}") Duration ttl) {
+        this.userComesticRepository = userComesticRepository;
+        this.userRepository = userRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build(this::load);
+    }
+
+    public List<UserCosmeticDTO> search(Long userId, String query, int limit) {
+        return indexes.get(userId).search(query, limit);
+    }
+
+    @TransactionalEventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        indexes.invalidate(event.userId());
+    }
+
+    private OwnedCosmeticIndex load(Long userId) {
+        return ReplicaDataSourceRouter.onPrimary(() -> build(userId));
+    }
+
+    private OwnedCosmeticIndex build(Long userId) {
+        List<UserCosmeticDTO> owned = userComesticRepository.findActiveDtosByUserId(userId);
+        if (owned.isEmpty() && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(userId);
+        }
+        return OwnedCosmeticIndex.build(owned);
+    }
+}
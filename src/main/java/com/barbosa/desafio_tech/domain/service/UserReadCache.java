@@ -0,0 +1,78 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.config.ReplicaDataSourceRouter;
+import com.barbosa.desafio_tech.domain.dto.UserDTO;
+import com.barbosa.desafio_tech.domain.mappers.UserMapper;
+import com.barbosa.desafio_tech.domain.repository.UserComesticRepository;
+import com.barbosa.desafio_tech.domain.repository.UserRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Cache em memória do cadastro do usuário e dos ids de cosméticos que ele possui ativos. As entradas de um usuário
+ * são descartadas após o commit de qualquer alteração ({@link UserDataChangedEvent}); o TTL cobre alterações
+ * feitas fora da aplicação. As cargas leem sempre do primário, para que uma réplica atrasada não fique em cache
+ * depois da invalidação. Métricas de acerto em {@code cache.gets{cache=users|user-active-cosmetics}}.
+ */
+@Component
+public class UserReadCache {
+
+    private final UserRepository userRepository;
+    private final UserComesticRepository userComesticRepository;
+    private final UserMapper userMapper;
+    private final Cache<Long, UserDTO> users;
+    private final Cache<Long, Set<String>> activeCosmetics;
+
+    public UserReadCache(UserRepository userRepository,
+                         UserComesticRepository userComesticRepository,
+                         UserMapper userMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.cache.users.size:10000}") long cacheSize,
+                         @Value("${app.cache.users.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.userComesticRepository = userComesticRepository;
+        this.userMapper = userMapper;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.activeCosmetics = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, activeCosmetics, "user-active-cosmetics");
+    }
+
+    public UserDTO getUser(Long userId) {
+        return users.get(userId, id -> ReplicaDataSourceRouter.onPrimary(() -> userRepository.findById(id)
+                .map(userMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException(id))));
+    }
+
+    public void requireUser(Long userId) {
+        getUser(userId);
+    }
+
+    public Set<String> activeCosmeticIds(Long userId) {
+        return activeCosmetics.get(userId, id -> ReplicaDataSourceRouter.onPrimary(
+                () -> Set.copyOf(userComesticRepository.findActiveCosmeticIdsByUserId(id))));
+    }
+
+    @TransactionalEventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        users.invalidate(event.userId());
+        activeCosmetics.invalidate(event.userId());
+    }
+}
@@ -8,6 +8,7 @@ import com.barbosa.desafio_tech.domain.repository.UserRepository;
 import com.barbosa.desafio_tech.domain.service.serviceException.DatabaseException;
 import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,14 +23,15 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final TransactionsService transactionsService;
+    private final WalletMutationExecutor walletMutationExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserReadCache userReadCache;
+    private final UserSummaryService userSummaryService;
 
     private static final int INITIAL_CREDITS = 10_000;
 
-    @Transactional(readOnly = true)
     public UserDTO getById(Long id) {
-        return userRepository.findById(id)
-                .map(userMapper::toDto)
-                .orElseThrow(() -> new ResourceNotFoundException(id));
+        return userReadCache.getUser(id);
     }
 
     @Transactional(readOnly = true)
@@ -52,12 +54,15 @@ public class UserService {
         return userMapper.toDto(saved);
     }
 
-    @Transactional
     public UserDTO update(Long id, UserDTO userDTO) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(id));
-        updateData(user, userDTO);
-        return userMapper.toDto(userRepository.save(user));
+        return walletMutationExecutor.execute(id, () -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(id));
+            updateData(user, userDTO);
+            User saved = userRepository.save(user);
+            eventPublisher.publishEvent(new UserDataChangedEvent(id));
+            return userMapper.toDto(saved);
+        });
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
@@ -65,7 +70,9 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(id));
         try {
+            userSummaryService.delete(id);
             userRepository.deleteById(id);
+            eventPublisher.publishEvent(new UserDataChangedEvent(id));
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException(
                     "Não é possível excluir o usuario porque está o " + id + " associado a um pedido ");
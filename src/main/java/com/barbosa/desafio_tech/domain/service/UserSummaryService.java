@@ -0,0 +1,266 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.BucketCount;
+import com.barbosa.desafio_tech.domain.dto.LedgerTotals;
+import com.barbosa.desafio_tech.domain.dto.UserSummaryDTO;
+import com.barbosa.desafio_tech.domain.entities.UserCosmetic;
+import com.barbosa.desafio_tech.domain.entities.UserSummary;
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
+import com.barbosa.desafio_tech.domain.repository.TransactionRepository;
+import com.barbosa.desafio_tech.domain.repository.UserComesticRepository;
+import com.barbosa.desafio_tech.domain.repository.UserRepository;
+import com.barbosa.desafio_tech.domain.repository.UserSummaryRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Mantém {@link UserSummary}: compras e reembolsos aplicam o delta na transação da carteira, e o rebuild recalcula
+ * todos os resumos a partir do extrato e do inventário, em blocos de usuários processados em paralelo.
+ */
+@Service
+@Slf4j
+public class UserSummaryService {
+
+    static final String UNKNOWN_BUCKET = "UNKNOWN";
+
+    private final UserSummaryRepository userSummaryRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserComesticRepository userComesticRepository;
+    private final WalletMutationExecutor walletMutationExecutor;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private CompletableFuture<RebuildResult> rebuild = CompletableFuture.completedFuture(new RebuildResult(0, 0));
+
+    public UserSummaryService(UserSummaryRepository userSummaryRepository,
+                              UserRepository userRepository,
+                              TransactionRepository transactionRepository,
+                              UserComesticRepository userComesticRepository,
+                              WalletMutationExecutor walletMutationExecutor,
+                              @Value("${app.summary.rebuild.chunk-size:500}") int chunkSize,
+                              @Value("${app.summary.rebuild.parallelism:4}") int parallelism) {
+        this.userSummaryRepository = userSummaryRepository;
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.userComesticRepository = userComesticRepository;
+        this.walletMutationExecutor = walletMutationExecutor;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * A existência do usuário é consultada sem o {@link UserReadCache}: a transação já está presa à réplica da
+     * primeira consulta, e o cache guardaria essa leitura como se viesse do primário.
+     */
+    @Transactional(readOnly = true)
+    public UserSummaryDTO getSummary(Long userId) {
+        return userSummaryRepository.findWithBucketsByUserId(userId)
+                .map(UserSummaryService::toDto)
+                .orElseGet(() -> {
+                    if (!userRepository.existsById(userId)) {
+                        throw new ResourceNotFoundException(userId);
+                    }
+                    return toDto(compute(userId));
+                });
+    }
+
+    /**
+     * Deve ser chamado dentro da transação da compra, depois de gravar as posses e o extrato.
+     */
+    public void recordPurchases(Long userId, List<UserCosmetic> ownerships) {
+        LocalDateTime now = LocalDateTime.now();
+        apply(userId, summary -> {
+            for (UserCosmetic ownership : ownerships) {
+                summary.setActiveCount(summary.getActiveCount() + 1);
+                increment(summary.getOwnedByRarity(), ownership.getRarity(), 1);
+                increment(summary.getOwnedByType(), ownership.getType(), 1);
+                summary.setTotalSpent(summary.getTotalSpent() + ownership.getPrice());
+                summary.setPurchaseCount(summary.getPurchaseCount() + 1);
+            }
+            summary.setLastPurchaseAt(now);
+        });
+    }
+
+    /**
+     * Deve ser chamado dentro da transação do reembolso, depois de desativar a posse e gravar o extrato.
+     */
+    public void recordRefund(Long userId, UserCosmetic ownership, int amount) {
+        apply(userId, summary -> {
+            summary.setActiveCount(summary.getActiveCount() - 1);
+            increment(summary.getOwnedByRarity(), ownership.getRarity(), -1);
+            increment(summary.getOwnedByType(), ownership.getType(), -1);
+            summary.setTotalRefunded(summary.getTotalRefunded() + amount);
+            summary.setRefundCount(summary.getRefundCount() + 1);
+        });
+    }
+
+    @Transactional
+    public void delete(Long userId) {
+        userSummaryRepository.findById(userId).ifPresent(userSummaryRepository::delete);
+    }
+
+    /**
+     * Inicia o recálculo de todos os resumos em segundo plano; se já houver um em andamento, devolve o mesmo.
+     */
+    public record RebuildResult(int rebuilt, int failed) {
+    }
+
+    private record Chunk(List<Long> userIds, Future<RebuildResult> result) {
+    }
+
+    public synchronized CompletableFuture<RebuildResult> rebuildAll() {
+        if (rebuild.isDone()) {
+            rebuild = CompletableFuture.supplyAsync(this::rebuildChunks,
+                    task -> Thread.ofPlatform().name("user-summary-rebuild").start(task));
+        }
+        return rebuild;
+    }
+
+    // não espera o término: o rebuild tem thread própria e o agendador é compartilhado com os demais jobs
+    @Scheduled(cron = "${app.summary.rebuild.cron:-}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    private RebuildResult rebuildChunks() {
+        long started = System.nanoTime();
+        List<Chunk> chunks = new ArrayList<>();
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism)) {
+            long afterId = 0L;
+            List<Long> ids;
+            while (!(ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+                List<Long> chunk = ids;
+                chunks.add(new Chunk(chunk, workers.submit(() -> rebuildChunk(chunk))));
+            }
+        }
+
+        // um bloco que falhou não interrompe os demais; os resumos dele continuam com os valores incrementais
+        int rebuilt = 0;
+        int failed = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.result().state() == Future.State.SUCCESS) {
+                rebuilt += chunk.result().resultNow().rebuilt();
+                failed += chunk.result().resultNow().failed();
+            } else {
+                failed += chunk.userIds().size();
+                log.error("Falha ao recalcular os resumos dos usuários {} a {}", chunk.userIds().getFirst(),
+                        chunk.userIds().getLast(), chunk.result().exceptionNow());
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        if (failed > 0) {
+            log.warn("{} resumos de usuário recalculados e {} com falha em {} ms", rebuilt, failed, elapsedMillis);
+        } else {
+            log.info("{} resumos de usuário recalculados em {} ms", rebuilt, elapsedMillis);
+        }
+        return new RebuildResult(rebuilt, failed);
+    }
+
+    private RebuildResult rebuildChunk(List<Long> userIds) {
+        int rebuilt = 0;
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                Boolean saved = walletMutationExecutor.execute(userId, () -> {
+                    if (!userRepository.existsById(userId)) {
+                        return false;
+                    }
+                    UserSummary computed = compute(userId);
+                    UserSummary summary = userSummaryRepository.findById(userId).orElseGet(() -> new UserSummary(userId));
+                    copy(computed, summary);
+                    userSummaryRepository.save(summary);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(saved)) {
+                    rebuilt++;
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Falha ao recalcular o resumo do usuário {}", userId, e);
+            }
+        }
+        return new RebuildResult(rebuilt, failed);
+    }
+
+    private void apply(Long userId, Consumer<UserSummary> delta) {
+        userSummaryRepository.findById(userId).ifPresentOrElse(summary -> {
+            delta.accept(summary);
+            summary.setUpdatedAt(LocalDateTime.now());
+        }, () -> userSummaryRepository.save(compute(userId)));
+    }
+
+    private UserSummary compute(Long userId) {
+        UserSummary summary = new UserSummary(userId);
+        LedgerTotals totals = transactionRepository.totalsByUserId(userId, Type.PURCHASE, Type.REFUND);
+        summary.setTotalSpent(totals.spent());
+        summary.setTotalRefunded(totals.refunded());
+        summary.setPurchaseCount(Math.toIntExact(totals.purchases()));
+        summary.setRefundCount(Math.toIntExact(totals.refunds()));
+        summary.setLastPurchaseAt(totals.lastPurchaseAt());
+
+        int active = 0;
+        for (BucketCount bucket : userComesticRepository.countActiveByRarity(userId)) {
+            increment(summary.getOwnedByRarity(), bucket.bucket(), Math.toIntExact(bucket.count()));
+            active += Math.toIntExact(bucket.count());
+        }
+        for (BucketCount bucket : userComesticRepository.countActiveByType(userId)) {
+            increment(summary.getOwnedByType(), bucket.bucket(), Math.toIntExact(bucket.count()));
+        }
+        summary.setActiveCount(active);
+        return summary;
+    }
+
+    private static void copy(UserSummary source, UserSummary target) {
+        target.setActiveCount(source.getActiveCount());
+        target.getOwnedByRarity().clear();
+        target.getOwnedByRarity().putAll(source.getOwnedByRarity());
+        target.getOwnedByType().clear();
+        target.getOwnedByType().putAll(source.getOwnedByType());
+        target.setTotalSpent(source.getTotalSpent());
+        target.setTotalRefunded(source.getTotalRefunded());
+        target.setPurchaseCount(source.getPurchaseCount());
+        target.setRefundCount(source.getRefundCount());
+        target.setLastPurchaseAt(source.getLastPurchaseAt());
+        target.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private static void increment(Map<String, Integer> buckets, String bucket, int delta) {
+        buckets.compute(bucket != null ? bucket : UNKNOWN_BUCKET, (key, current) -> {
+            int next = (current != null ? current : 0) + delta;
+            return next > 0 ? next : null;
+        });
+    }
+
+    private static UserSummaryDTO toDto(UserSummary summary) {
+        return UserSummaryDTO.builder()
+                .userId(summary.getUserId())
+                .activeCount(summary.getActiveCount())
+                .ownedByRarity(new HashMap<>(summary.getOwnedByRarity()))
+                .ownedByType(new HashMap<>(summary.getOwnedByType()))
+                .totalSpent(summary.getTotalSpent())
+                .totalRefunded(summary.getTotalRefunded())
+                .purchaseCount(summary.getPurchaseCount())
+                .refundCount(summary.getRefundCount())
+                .lastPurchaseAt(summary.getLastPurchaseAt())
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
+}
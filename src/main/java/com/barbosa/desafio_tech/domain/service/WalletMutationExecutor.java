@@ -0,0 +1,84 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.config.DatabaseAdmissionControl;
+import com.barbosa.desafio_tech.domain.service.serviceException.WalletBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa as alterações de saldo de um mesmo usuário. Cada usuário cai em uma faixa de locks justos (FIFO), e a
+ * transação é aberta e confirmada com o lock em mãos, então operações do mesmo usuário executam em ordem e sem
+ * conflito de {@code @Version}; usuários em faixas diferentes seguem em paralelo. A vaga no limite de carteira do
+ * {@link DatabaseAdmissionControl} só é pedida depois do lock, cobrindo apenas a transação.
+ */
+@Component
+public class WalletMutationExecutor {
+
+    private final ReentrantLock[] stripes;
+    private final Duration lockTimeout;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseAdmissionControl admissionControl;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+
+    public WalletMutationExecutor(PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  Optional<DatabaseAdmissionControl> admissionControl,
+                                  @Value("${app.wallet.lock-stripes:256}") int stripeCount,
+                                  @Value("${app.wallet.lock-timeout:PT10S}") Duration lockTimeout) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.lockTimeout = lockTimeout;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.admissionControl = admissionControl.orElse(null);
+        this.waitTimer = Timer.builder("wallet.mutations.wait")
+                .description("Tempo de espera pelo lock da carteira do usuário")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("wallet.mutations.queued", waiting);
+    }
+
+    public <T> T execute(Long userId, Supplier<T> mutation) {
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(userId), stripes.length)];
+        acquire(lock, userId);
+        try {
+            Supplier<T> transaction = () -> transactionTemplate.execute(status -> mutation.get());
+            return admissionControl != null
+                    ? admissionControl.admit(DatabaseAdmissionControl.Budget.WALLET, transaction)
+                    : transaction.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock, Long userId) {
+        waiting.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalletBusyException(userId);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new WalletBusyException(userId);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.barbosa.desafio_tech.domain.service.serviceException;
+
+public class IdempotencyKeyException extends RuntimeException {
+
+    public IdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.barbosa.desafio_tech.domain.service.serviceException;
+
+public class InsufficientBalanceException extends RuntimeException {
+
+    public InsufficientBalanceException(Long userId, int amount) {
+        super("Saldo insuficiente do usuário " + userId + " para debitar " + amount + " V-Bucks");
+    }
+}
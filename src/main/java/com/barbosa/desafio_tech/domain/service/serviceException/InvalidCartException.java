@@ -0,0 +1,8 @@
+package com.barbosa.desafio_tech.domain.service.serviceException;
+
+public class InvalidCartException extends RuntimeException {
+
+    public InvalidCartException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.barbosa.desafio_tech.domain.service.serviceException;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Cursor inválido: " + cursor);
+    }
+}
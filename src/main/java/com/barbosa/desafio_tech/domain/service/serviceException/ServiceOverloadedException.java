@@ -0,0 +1,16 @@
+package com.barbosa.desafio_tech.domain.service.serviceException;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String budget, Duration retryAfter) {
+        super("Serviço sobrecarregado (" + budget + "), tente novamente em instantes");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,8 @@
+package com.barbosa.desafio_tech.domain.service.serviceException;
+
+public class WalletBusyException extends RuntimeException {
+
+    public WalletBusyException(Long userId) {
+        super("Carteira do usuário " + userId + " ocupada, tente novamente");
+    }
+}
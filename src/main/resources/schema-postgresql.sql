@@ -0,0 +1,16 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization=true); todas as instruções são idempotentes.
+
+-- Um usuário só pode ter uma posse ativa de cada cosmético; a compra depende desta restrição em vez de consultar antes.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_cosmetic_active ON tb_user_cosmetic (user_id, cosmetic_id) WHERE is_active;
+
+-- Os ids passaram de IDENTITY para sequências com alocação em blocos de 50 (permite batch de inserts no Hibernate).
+-- Bancos criados antes disso: remove o IDENTITY da coluna e posiciona a sequência após o maior id existente.
+ALTER TABLE tb_users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tb_transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tb_user_cosmetic ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tb_comestic ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('tb_users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tb_users), (SELECT last_value FROM tb_users_seq)));
+SELECT setval('tb_transactions_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tb_transactions), (SELECT last_value FROM tb_transactions_seq)));
+SELECT setval('tb_user_cosmetic_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tb_user_cosmetic), (SELECT last_value FROM tb_user_cosmetic_seq)));
+SELECT setval('tb_comestic_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tb_comestic), (SELECT last_value FROM tb_comestic_seq)));
@@ -0,0 +1,74 @@
+package com.barbosa.desafio_tech.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(60).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+    private static final long FLOOR = Duration.ofMillis(50).toNanos();
+
+    @Test
+    void rejectsImmediatelyWhenTheLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0.9, 100, FLOOR);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyStaysNearTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 5, 2.0, 0.9, 100, FLOOR);
+
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limiter, FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void backsOffWhenLatencyClimbsOrThePoolIsExhausted() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 10, 2.0, 0.5, 100, FLOOR);
+        saturateAndRelease(limiter, FAST, false);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresSlowdownsBelowTheLatencyFloor() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 4, 2.0, 0.5, 100, FLOOR);
+        saturateAndRelease(limiter, Duration.ofMillis(1).toNanos(), false);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(Duration.ofMillis(20).toNanos(), false);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    private void saturateAndRelease(AdaptiveConcurrencyLimiter limiter, long latencyNanos, boolean overloaded) {
+        assertThat(limiter.tryAcquire()).isTrue();
+        int extra = 0;
+        while (limiter.tryAcquire()) {
+            extra++;
+        }
+        limiter.release(latencyNanos, overloaded);
+        for (int i = 0; i < extra; i++) {
+            limiter.release(latencyNanos, false);
+        }
+    }
+}
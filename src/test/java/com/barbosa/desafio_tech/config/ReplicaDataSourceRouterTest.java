@@ -0,0 +1,112 @@
+package com.barbosa.desafio_tech.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaDataSourceRouterTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+    private final JdbcTemplate replicaAdmin = new JdbcTemplate(replica);
+
+    @AfterEach
+    void tearDown() {
+        ReplicaDataSourceRouter.usePrimary(false);
+        new JdbcTemplate(primary).execute("drop all objects");
+        replicaAdmin.execute("drop all objects");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        ReplicaDataSourceRouter router = router("select lag from replica_lag");
+        router.checkLag();
+
+        assertThat(readNode(router, true)).isEqualTo("replica");
+        assertThat(readNode(router, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaLagsOrBeforeTheFirstProbe() {
+        ReplicaDataSourceRouter router = router("select lag from replica_lag");
+        assertThat(readNode(router, true)).isEqualTo("primary");
+
+        replicaAdmin.update("update replica_lag set lag = 30");
+        router.checkLag();
+        assertThat(readNode(router, true)).isEqualTo("primary");
+        assertThat(router.replicaLagSeconds()).containsExactly(30.0);
+
+        replicaAdmin.update("update replica_lag set lag = 0");
+        router.checkLag();
+        assertThat(readNode(router, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readYourWritesPinsTheRequestToThePrimary() {
+        ReplicaDataSourceRouter router = router("select lag from replica_lag");
+        router.checkLag();
+
+        ReplicaDataSourceRouter.usePrimary(true);
+        assertThat(readNode(router, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void cacheLoadsReadFromThePrimaryAndRestoreTheRequestChoice() {
+        ReplicaDataSourceRouter router = router("select lag from replica_lag");
+        router.checkLag();
+
+        assertThat(ReplicaDataSourceRouter.onPrimary(() -> readNode(router, true))).isEqualTo("primary");
+        assertThat(readNode(router, true)).isEqualTo("replica");
+
+        ReplicaDataSourceRouter.usePrimary(true);
+        ReplicaDataSourceRouter.onPrimary(() -> readNode(router, true));
+        assertThat(readNode(router, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void aReplicaWithoutARecentProbeLeavesTheReads() throws InterruptedException {
+        ReplicaDataSourceRouter router = new ReplicaDataSourceRouter(primary, List.of(replica), Duration.ofSeconds(5),
+                Duration.ofMillis(50), "select lag from replica_lag");
+        router.checkLag();
+        assertThat(readNode(router, true)).isEqualTo("replica");
+
+        Thread.sleep(150);
+        assertThat(readNode(router, true)).isEqualTo("primary");
+
+        router.checkLag();
+        assertThat(readNode(router, true)).isEqualTo("replica");
+    }
+
+    private ReplicaDataSourceRouter router(String lagQuery) {
+        return new ReplicaDataSourceRouter(primary, List.of(replica), Duration.ofSeconds(5), Duration.ofSeconds(5),
+                lagQuery);
+    }
+
+    private String readNode(ReplicaDataSourceRouter router, boolean readOnly) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(router);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20))");
+        jdbc.update("insert into node values (?)", name);
+        jdbc.execute("create table replica_lag (lag double)");
+        jdbc.update("insert into replica_lag values (0)");
+        return dataSource;
+    }
+}
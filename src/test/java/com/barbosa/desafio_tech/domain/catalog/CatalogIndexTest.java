@@ -0,0 +1,58 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogIndexTest {
+
+    private final List<ComesticDTO> items = List.of(
+            cosmetic("1", "Renegade Raider", "Outfit", "Rare", true, false),
+            cosmetic("2", "Raider's Revenge", "Pickaxe", "Epic", false, true),
+            cosmetic("3", "Black Knight", "Outfit", "Legendary", null, null),
+            cosmetic("4", null, "Outfit", "Rare", true, true));
+
+    private final CatalogIndex index = CatalogIndex.build(items);
+
+    @Test
+    void nullFilterMatchesEverything() {
+        assertThat(positions(index.match(null))).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void nameMatchIsCaseInsensitiveSubstring() {
+        assertThat(positions(index.match(filter("RAIDER", null, null, null, null)))).containsExactly(0, 1);
+        assertThat(positions(index.match(filter("nig", null, null, null, null)))).containsExactly(2);
+        assertThat(positions(index.match(filter("de", null, null, null, null)))).containsExactly(0, 1);
+    }
+
+    @Test
+    void trigramCandidatesAreVerifiedAgainstTheFullToken() {
+        assertThat(positions(index.match(filter("raider raider", null, null, null, null)))).isEmpty();
+    }
+
+    @Test
+    void fieldFiltersIntersect() {
+        assertThat(positions(index.match(filter(null, "Outfit", "Rare", null, null)))).containsExactly(0, 3);
+        assertThat(positions(index.match(filter(null, "Outfit", null, true, true)))).containsExactly(3);
+        assertThat(positions(index.match(filter(null, null, null, false, null)))).containsExactly(1);
+        assertThat(positions(index.match(filter("raider", "Emote", null, null, null)))).isEmpty();
+    }
+
+    private static ComesticFilterDTO filter(String name, String type, String rarity, Boolean isNew, Boolean isOnSale) {
+        return new ComesticFilterDTO(name, type, rarity, isNew, isOnSale);
+    }
+
+    private static ComesticDTO cosmetic(String id, String name, String type, String rarity, Boolean isNew, Boolean isOnSale) {
+        return ComesticDTO.builder().id(id).name(name).type(type).rarity(rarity).isNew(isNew).isOnSale(isOnSale).build();
+    }
+
+    private static List<Integer> positions(BitSet bits) {
+        return bits.stream().boxed().toList();
+    }
+}
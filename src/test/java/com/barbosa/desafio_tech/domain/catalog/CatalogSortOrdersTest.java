@@ -0,0 +1,35 @@
+package com.barbosa.desafio_tech.domain.catalog;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSortOrdersTest {
+
+    private final CatalogSortOrders orders = CatalogSortOrders.build(List.of(
+            cosmetic("banana", 800),
+            cosmetic(null, 1200),
+            cosmetic("Apple", null),
+            cosmetic("cherry", 800)));
+
+    @Test
+    void sortsByNameIgnoringCaseWithNullsLastInBothDirections() {
+        assertThat(orders.order(Sort.by("name"))).containsExactly(2, 0, 3, 1);
+        assertThat(orders.order(Sort.by(Sort.Direction.DESC, "name"))).containsExactly(3, 0, 2, 1);
+    }
+
+    @Test
+    void keepsOriginalOrderOnTiesAndIgnoresUnknownProperties() {
+        assertThat(orders.order(Sort.by(Sort.Direction.DESC, "price"))).containsExactly(1, 0, 3, 2);
+        assertThat(orders.order(Sort.by("description", "price"))).containsExactly(0, 3, 1, 2);
+        assertThat(orders.order(Sort.unsorted())).isNull();
+    }
+
+    private static ComesticDTO cosmetic(String name, Integer price) {
+        return ComesticDTO.builder().name(name).price(price).build();
+    }
+}
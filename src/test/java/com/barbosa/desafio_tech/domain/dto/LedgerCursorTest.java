@@ -0,0 +1,25 @@
+package com.barbosa.desafio_tech.domain.dto;
+
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LedgerCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LedgerCursor cursor = new LedgerCursor(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000), 42L);
+
+        assertThat(LedgerCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> LedgerCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.barbosa.desafio_tech.domain.inventory;
+
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnedCosmeticIndexTest {
+
+    private final OwnedCosmeticIndex index = OwnedCosmeticIndex.build(List.of(
+            owned("1", "Raider's Revenge"),
+            owned("2", "Renegade Raider"),
+            owned("3", "Raider"),
+            owned("4", "Black Knight"),
+            owned("5", "Spraiders")));
+
+    @Test
+    void ranksExactThenPrefixThenWordThenSubstring() {
+        assertThat(ids(index.search("RAIDER", 10))).containsExactly("3", "1", "2", "5");
+    }
+
+    @Test
+    void shortQueriesScanAndLimitIsApplied() {
+        assertThat(ids(index.search("ni", 10))).containsExactly("4");
+        assertThat(ids(index.search("raider", 2))).containsExactly("3", "1");
+    }
+
+    @Test
+    void returnsNothingForMissingGramsOrBlankQuery() {
+        assertThat(index.search("dragon", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(OwnedCosmeticIndex.EMPTY.search("raider", 10)).isEmpty();
+    }
+
+    private static UserCosmeticDTO owned(String cosmeticId, String name) {
+        return UserCosmeticDTO.builder().cosmeticId(cosmeticId).cosmeticName(name).isActive(true).build();
+    }
+
+    private static List<String> ids(List<UserCosmeticDTO> cosmetics) {
+        return cosmetics.stream().map(UserCosmeticDTO::getCosmeticId).toList();
+    }
+}
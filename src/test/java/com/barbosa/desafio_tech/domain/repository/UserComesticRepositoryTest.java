@@ -0,0 +1,90 @@
+package com.barbosa.desafio_tech.domain.repository;
+
+import com.barbosa.desafio_tech.domain.dto.UserCosmeticDTO;
+import com.barbosa.desafio_tech.domain.entities.User;
+import com.barbosa.desafio_tech.domain.entities.UserCosmetic;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserComesticRepositoryTest {
+
+    @Autowired
+    private UserComesticRepository userComesticRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ownerId;
+    private Long emptyUserId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = user("owner");
+        User empty = user("empty");
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new UserCosmetic(null, "CID_" + i, "Skin " + i, 100 * (5 - i), "Rare", "Outfit", i != 4, i != 4 ? null : LocalDateTime.now(), owner));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ownerId = owner.getId();
+        emptyUserId = empty.getId();
+    }
+
+    @Test
+    void pagesActiveCosmeticsWithTotalInOneStatement() {
+        Statistics statistics = statistics();
+
+        Page<UserCosmeticDTO> page = userComesticRepository
+                .findActivePage(ownerId, PageRequest.of(0, 3, Sort.by("price")))
+                .orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting(UserCosmeticDTO::getCosmeticId).containsExactly("CID_3", "CID_2", "CID_1");
+        assertThat(page.getContent()).allMatch(c -> ownerId.equals(c.getUserId()));
+    }
+
+    @Test
+    void distinguishesMissingUserFromEmptyInventory() {
+        assertThat(userComesticRepository.findActivePage(emptyUserId, PageRequest.of(0, 10)))
+                .hasValueSatisfying(page -> assertThat(page.getTotalElements()).isZero());
+        assertThat(userComesticRepository.findActivePage(-1L, PageRequest.of(0, 10))).isEmpty();
+
+        assertThat(userComesticRepository.findActive(ownerId, "CID_0")).hasValueSatisfying(c -> assertThat(c).isPresent());
+        assertThat(userComesticRepository.findActive(ownerId, "CID_4")).contains(Optional.empty());
+        assertThat(userComesticRepository.findActive(-1L, "CID_0")).isEmpty();
+    }
+
+    private User user(String name) {
+        User user = new User(null, name, name + "@example.com", "secret", 10_000, null, LocalDateTime.now(), null);
+        return entityManager.persist(user);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
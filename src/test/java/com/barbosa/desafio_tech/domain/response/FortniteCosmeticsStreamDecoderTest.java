@@ -0,0 +1,58 @@
+package com.barbosa.desafio_tech.domain.response;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FortniteCosmeticsStreamDecoderTest {
+
+    private static final String PAYLOAD = """
+            {"status":200,"data":{
+              "br":[
+                {"id":"CID_001","name":"Renegade Raider","description":"Rare renegade raider outfit.",
+                 "type":{"value":"outfit","displayValue":"Outfit","backendValue":"AthenaCharacter"},
+                 "rarity":{"value":"rare","displayValue":"Rare"},
+                 "images":{"smallIcon":"https://cdn/small.png","icon":"https://cdn/icon.png"},
+                 "variants":[{"channel":"Material","options":[{"tag":"Mat1","name":{"en":"x"}}]}],
+                 "added":"2017-10-26T00:00:00Z"},
+                {"id":"CID_002","name":null,"type":{"displayValue":"Outfit"},"introduction":{"chapter":"1"}}
+              ],
+              "tracks":[{"id":"track","name":"not a cosmetic"}]
+            }}""";
+
+    @Test
+    void decodesOnlyCatalogFieldsOfBrItems() {
+        List<ComesticDTO> decoded = decode(PAYLOAD.getBytes(StandardCharsets.UTF_8), Integer.MAX_VALUE);
+
+        assertThat(decoded).containsExactly(
+                ComesticDTO.builder().id("CID_001").name("Renegade Raider").type("Outfit").rarity("Rare")
+                        .imageUrl("https://cdn/small.png").build(),
+                ComesticDTO.builder().id("CID_002").type("Outfit").build());
+    }
+
+    @Test
+    void producesTheSameResultRegardlessOfChunkBoundaries() {
+        byte[] bytes = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        List<ComesticDTO> whole = decode(bytes, Integer.MAX_VALUE);
+
+        assertThat(decode(bytes, 1)).isEqualTo(whole);
+        assertThat(decode(bytes, 7)).isEqualTo(whole);
+        assertThat(whole.get(0).getType()).isSameAs(whole.get(1).getType());
+    }
+
+    private static List<ComesticDTO> decode(byte[] bytes, int chunkSize) {
+        FortniteCosmeticsStreamDecoder decoder = new FortniteCosmeticsStreamDecoder();
+        List<ComesticDTO> decoded = new ArrayList<>();
+        for (int start = 0; start < bytes.length; start += chunkSize) {
+            decoded.addAll(decoder.feed(Arrays.copyOfRange(bytes, start, Math.min(bytes.length, start + chunkSize))));
+        }
+        decoded.addAll(decoder.complete());
+        return decoded;
+    }
+}
@@ -0,0 +1,53 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsSnapshotThroughTheFile() {
+        CatalogSnapshotStore store = new CatalogSnapshotStore(directory.resolve("catalog.bin").toString());
+        ComesticDTO raider = ComesticDTO.builder().id("CID_001").name("Renegade Raider ✓").type("Outfit").rarity("Rare")
+                .imageUrl("https://cdn/small.png").build();
+        ComesticDTO offer = ComesticDTO.builder().id("offer").name("Bundle").price(1500).isNew(true).isOnSale(false).build();
+        CatalogSnapshot snapshot = CatalogSnapshot.of(7, Instant.ofEpochMilli(1_700_000_000_000L),
+                List.of(raider), List.of(), List.of(offer));
+
+        store.save(snapshot);
+        CatalogSnapshot loaded = store.load().orElseThrow();
+
+        assertThat(loaded.version()).isEqualTo(7);
+        assertThat(loaded.refreshedAt()).isEqualTo(snapshot.refreshedAt());
+        assertThat(loaded.cosmetics().items()).containsExactly(raider);
+        assertThat(loaded.newCosmetics().items()).isEmpty();
+        assertThat(loaded.shop().items()).containsExactly(offer);
+        assertThat(loaded.contentHash()).isEqualTo(snapshot.contentHash());
+    }
+
+    @Test
+    void ignoresCorruptedFiles() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        CatalogSnapshotStore store = new CatalogSnapshotStore(file.toString());
+        store.save(CatalogSnapshot.of(1, Instant.now(), List.of(ComesticDTO.builder().id("a").build()), List.of(), List.of()));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 0x7F;
+        Files.write(file, bytes);
+
+        assertThat(store.load()).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.catalog.CatalogETag;
+import com.barbosa.desafio_tech.domain.catalog.CatalogSnapshot;
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.ComesticFilterDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ComesticServiceTest {
+
+    private static final ComesticDTO RAIDER = ComesticDTO.builder().id("CID_001").name("Renegade Raider").rarity("Rare").build();
+    private static final ComesticDTO SKULL = ComesticDTO.builder().id("CID_002").name("Skull Trooper").rarity("Epic").build();
+
+    private final ComesticService service = new ComesticService(mock(FortniteApiService.class), mock(CosmeticCatalogService.class));
+
+    @Test
+    void hasNoETagBeforeTheCatalogIsLoaded() {
+        assertThat(service.etagForShop(CatalogSnapshot.EMPTY, PageRequest.of(0, 20))).isEmpty();
+    }
+
+    @Test
+    void keepsTheETagWhileContentAndParametersAreTheSame() {
+        Instant refreshedAt = Instant.parse("2025-01-01T10:00:00Z");
+        CatalogSnapshot first = CatalogSnapshot.of(1, refreshedAt, List.of(RAIDER, SKULL), List.of(), List.of());
+        CatalogSnapshot second = CatalogSnapshot.of(2, refreshedAt, List.of(RAIDER, SKULL), List.of(), List.of(SKULL));
+        CatalogETag etag = service.etagForAll(first, PageRequest.of(0, 20), null).orElseThrow();
+
+        assertThat(service.etagForAll(second, PageRequest.of(0, 20), null)).contains(etag);
+        assertThat(etag.lastModified()).isEqualTo(refreshedAt);
+    }
+
+    @Test
+    void changesTheETagWithContentOrParameters() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, Instant.now(), List.of(RAIDER, SKULL), List.of(), List.of());
+        String etag = service.etagForAll(snapshot, PageRequest.of(0, 20), null).orElseThrow().etag();
+
+        assertThat(etagForAll(snapshot, PageRequest.of(1, 20), null)).isNotEqualTo(etag);
+        assertThat(etagForAll(snapshot, PageRequest.of(0, 20, Sort.by("rarity")), null)).isNotEqualTo(etag);
+        assertThat(etagForAll(snapshot, PageRequest.of(0, 20), filter("raider", null))).isNotEqualTo(etag);
+
+        CatalogSnapshot changed = CatalogSnapshot.of(2, Instant.now(), List.of(RAIDER), List.of(), List.of());
+        assertThat(etagForAll(changed, PageRequest.of(0, 20), null)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void keepsFilterValuesThatLookAlikeApart() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, Instant.now(), List.of(RAIDER, SKULL), List.of(), List.of());
+        PageRequest page = PageRequest.of(0, 20);
+
+        assertThat(etagForAll(snapshot, page, filter("null", null))).isNotEqualTo(etagForAll(snapshot, page, filter(null, null)));
+        assertThat(etagForAll(snapshot, page, filter("a,b", "c"))).isNotEqualTo(etagForAll(snapshot, page, filter("a", "b,c")));
+    }
+
+    @Test
+    void paginatesTheSnapshotItWasGiven() {
+        CatalogSnapshot first = CatalogSnapshot.of(1, Instant.now(), List.of(RAIDER), List.of(), List.of());
+        CatalogSnapshot second = CatalogSnapshot.of(2, Instant.now(), List.of(RAIDER, SKULL), List.of(), List.of());
+
+        assertThat(service.listAll(first, PageRequest.of(0, 20), null).getContent()).containsExactly(RAIDER);
+        assertThat(service.listAll(second, PageRequest.of(0, 20), null).getContent()).containsExactly(RAIDER, SKULL);
+    }
+
+    private String etagForAll(CatalogSnapshot snapshot, PageRequest page, ComesticFilterDTO filter) {
+        return service.etagForAll(snapshot, page, filter).orElseThrow().etag();
+    }
+
+    private static ComesticFilterDTO filter(String name, String type) {
+        return new ComesticFilterDTO(name, type, null, null, null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CosmeticCatalogServiceTest {
+
+    private static final ComesticDTO RAIDER = ComesticDTO.builder().id("CID_001").name("Renegade Raider").build();
+
+    private final FortniteApiService fortniteApiService = mock(FortniteApiService.class);
+    private final CatalogSnapshotStore catalogSnapshotStore = mock(CatalogSnapshotStore.class);
+    private final CosmeticCatalogService service = new CosmeticCatalogService(fortniteApiService, catalogSnapshotStore,
+            new UpstreamRequestCoalescer(new SimpleMeterRegistry()));
+
+    @Test
+    void doesNotPublishAnEmptyCatalogWhenTheFirstLoadFails() {
+        upstreamReturns(List.of());
+
+        service.refresh();
+
+        assertThat(service.peek().isLoaded()).isFalse();
+        verify(catalogSnapshotStore, never()).save(any());
+
+        upstreamReturns(List.of(RAIDER));
+        service.retryUntilLoaded();
+
+        assertThat(service.peek().isLoaded()).isTrue();
+        assertThat(service.peek().cosmetics().items()).containsExactly(RAIDER);
+        verify(catalogSnapshotStore).save(service.peek());
+    }
+
+    private void upstreamReturns(List<ComesticDTO> items) {
+        when(fortniteApiService.getAllCosmetics()).thenReturn(Mono.just(items));
+        when(fortniteApiService.getNewCosmetics()).thenReturn(Mono.just(List.of()));
+        when(fortniteApiService.getShopItems()).thenReturn(Mono.just(List.of()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.UserDTO;
+import com.barbosa.desafio_tech.domain.entities.IdempotencyRecord;
+import com.barbosa.desafio_tech.domain.repository.IdempotencyRecordRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.IdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final IdempotencyService service = newService();
+
+    @Test
+    void appliesOnceAndReplaysTheStoredResponse() {
+        when(repository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        AtomicInteger applied = new AtomicInteger();
+
+        IdempotencyService.Outcome first = service.execute(1L, "key-1", "PURCHASE", cosmetic("CID_1"), () -> user(applied.incrementAndGet()));
+        IdempotencyService.Outcome retry = service.execute(1L, "key-1", "PURCHASE", cosmetic("CID_1"), () -> user(applied.incrementAndGet()));
+
+        assertThat(applied).hasValue(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body()).isEqualTo(first.body());
+        verify(repository).save(any());
+    }
+
+    @Test
+    void rejectsKeyReusedForAnotherOperation() {
+        when(repository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        service.execute(1L, "key-2", "PURCHASE", cosmetic("CID_1"), () -> user(1));
+
+        assertThatThrownBy(() -> service.execute(1L, "key-2", "REFUND", cosmetic("CID_1"), () -> user(2)))
+                .isInstanceOf(IdempotencyKeyException.class);
+    }
+
+    @Test
+    void rejectsKeyReusedWithAnotherBody() {
+        when(repository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        service.execute(1L, "key-3", "PURCHASE", cosmetic("CID_1"), () -> user(1));
+
+        assertThatThrownBy(() -> service.execute(1L, "key-3", "PURCHASE", cosmetic("CID_2"), () -> user(2)))
+                .isInstanceOf(IdempotencyKeyException.class);
+    }
+
+    @Test
+    void rejectsStoredRecordWithAnotherBody() {
+        AtomicReference<IdempotencyRecord> saved = new AtomicReference<>();
+        when(repository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        when(repository.save(any())).thenAnswer(invocation -> {
+            saved.set(invocation.getArgument(0));
+            return saved.get();
+        });
+        service.execute(1L, "key-4", "PURCHASE", cosmetic("CID_1"), () -> user(1));
+
+        // outra instância, sem o cache em memória, recebe a mesma chave
+        IdempotencyService otherInstance = newService();
+        when(repository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.of(saved.get()));
+
+        assertThat(otherInstance.execute(1L, "key-4", "PURCHASE", cosmetic("CID_1"), () -> user(2)).replayed()).isTrue();
+        assertThatThrownBy(() -> newService().execute(1L, "key-4", "PURCHASE", cosmetic("CID_2"), () -> user(2)))
+                .isInstanceOf(IdempotencyKeyException.class);
+    }
+
+    @Test
+    void runsWithoutDeduplicationWhenNoKeyIsSent() {
+        AtomicInteger applied = new AtomicInteger();
+
+        service.execute(1L, null, "PURCHASE", cosmetic("CID_1"), () -> user(applied.incrementAndGet()));
+        service.execute(1L, null, "PURCHASE", cosmetic("CID_1"), () -> user(applied.incrementAndGet()));
+
+        assertThat(applied).hasValue(2);
+    }
+
+    private IdempotencyService newService() {
+        return new IdempotencyService(
+                repository,
+                new WalletMutationExecutor(mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                        Optional.empty(), 4, Duration.ofSeconds(1)),
+                new ObjectMapper(),
+                Duration.ofHours(1),
+                100);
+    }
+
+    private static ComesticDTO cosmetic(String id) {
+        return ComesticDTO.builder().id(id).name(id).price(100).build();
+    }
+
+    private static UserDTO user(int vbucks) {
+        return UserDTO.builder().id(1L).name("user").email("user@example.com").vbucks(vbucks).build();
+    }
+}
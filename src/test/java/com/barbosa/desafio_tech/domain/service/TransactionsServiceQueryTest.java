@@ -0,0 +1,120 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.LedgerPageDTO;
+import com.barbosa.desafio_tech.domain.dto.TransactionDTO;
+import com.barbosa.desafio_tech.domain.entities.Transaction;
+import com.barbosa.desafio_tech.domain.entities.TransactionArchive;
+import com.barbosa.desafio_tech.domain.entities.User;
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
+import com.barbosa.desafio_tech.domain.mappers.UserMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TransactionsService.class, WalletMutationExecutor.class, UserReadCache.class, UserSummaryService.class, UserMapperImpl.class,
+        SimpleMeterRegistry.class})
+class TransactionsServiceQueryTest {
+
+    @Autowired
+    private TransactionsService transactionsService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User(null, "ledger", "ledger@example.com", "secret", 10_000, null, LocalDateTime.now(), null);
+        entityManager.persist(user);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 30; i++) {
+            Transaction transaction = new Transaction(null, user, i % 2 == 0 ? Type.PURCHASE : Type.REFUND,
+                    i, 10_000 - i, "ref-" + i, start.plusMinutes(i / 3));
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+    }
+
+    @Test
+    void listsLedgerWithFixedStatementCountRegardlessOfRowCount() {
+        Statistics statistics = statistics();
+
+        List<TransactionDTO> transactions = transactionsService.listTransactions(userId);
+
+        assertThat(transactions).hasSize(30);
+        assertThat(transactions.get(0).getReferenceId()).isEqualTo("ref-29");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        transactionsService.listTransactions(userId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void walksTheKeysetLedgerWithoutGapsOrRepeats() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Statistics statistics = statistics();
+            LedgerPageDTO page = transactionsService.listLedger(userId, cursor, 7, null, null, null);
+            // a primeira página também carrega o usuário no cache; as seguintes são só a consulta do extrato
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(cursor == null ? 2 : 1);
+            page.getItems().forEach(t -> seen.add(t.getReferenceId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(30).doesNotHaveDuplicates().startsWith("ref-29", "ref-28", "ref-27");
+    }
+
+    @Test
+    void filtersLedgerByType() {
+        LedgerPageDTO page = transactionsService.listLedger(userId, null, 50, List.of(Type.REFUND), null, null);
+
+        assertThat(page.getItems()).hasSize(15).allMatch(t -> t.getType() == Type.REFUND);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void keepsArchivedTransactionsInTheLedger() {
+        LocalDateTime archivedAt = LocalDateTime.of(2023, 6, 1, 12, 0);
+        entityManager.persist(new TransactionArchive(1_000_000L, userId, Type.PURCHASE, -500, 9_500, "archived", archivedAt));
+        entityManager.flush();
+
+        List<TransactionDTO> transactions = transactionsService.listTransactions(userId);
+        assertThat(transactions).hasSize(31);
+        assertThat(transactions.get(30).getReferenceId()).isEqualTo("archived");
+
+        LedgerPageDTO page = transactionsService.listLedger(userId, null, 50, null, null, archivedAt);
+        assertThat(page.getItems()).extracting(TransactionDTO::getReferenceId).containsExactly("archived");
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,181 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.TransactionDTO;
+import com.barbosa.desafio_tech.domain.entities.Transaction;
+import com.barbosa.desafio_tech.domain.entities.User;
+import com.barbosa.desafio_tech.domain.entities.UserCosmetic;
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
+import com.barbosa.desafio_tech.domain.mappers.UserMapperImpl;
+import com.barbosa.desafio_tech.domain.repository.UserComesticRepository;
+import com.barbosa.desafio_tech.domain.repository.UserRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.ActiveUserException;
+import com.barbosa.desafio_tech.domain.service.serviceException.ComesticNotFoundException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InsufficientBalanceException;
+import com.barbosa.desafio_tech.domain.service.serviceException.InvalidCartException;
+import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TransactionsService.class, WalletMutationExecutor.class, UserReadCache.class, UserSummaryService.class,
+        UserMapperImpl.class, SimpleMeterRegistry.class})
+class TransactionsServiceWalletTest {
+
+    @Autowired
+    private TransactionsService transactionsService;
+
+    @Autowired
+    private UserReadCache userReadCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserComesticRepository userComesticRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User(null, "wallet", "wallet@example.com", "secret", 10_000, null, LocalDateTime.now(), null);
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+    }
+
+    @Test
+    void checkoutDebitsOnceAndBatchesTheInserts() {
+        List<ComesticDTO> cart = IntStream.range(0, 50).mapToObj(i -> cosmetic("CID_" + i, 100)).toList();
+        Statistics statistics = statistics();
+
+        assertThat(transactionsService.checkout(userId, cart).getVbucks()).isEqualTo(5_000);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityStatistics(UserCosmetic.class.getName()).getInsertCount()).isEqualTo(50);
+        assertThat(statistics.getEntityStatistics(Transaction.class.getName()).getInsertCount()).isEqualTo(50);
+        // sem batching seriam ao menos dois INSERTs por item
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(cart.size());
+
+        entityManager.clear();
+        List<TransactionDTO> ledger = transactionsService.listTransactions(userId);
+        assertThat(ledger).hasSize(50).allMatch(t -> t.getType() == Type.PURCHASE && t.getAmount() == -100);
+        assertThat(ledger).extracting(TransactionDTO::getBalanceAfter).contains(9_900, 5_000);
+        assertThat(userComesticRepository.findActiveCosmeticIdsByUserId(userId)).hasSize(50);
+    }
+
+    @Test
+    void rejectsACartAboveTheBalanceWithoutWritingAnything() {
+        List<ComesticDTO> cart = List.of(cosmetic("CID_1", 6_000), cosmetic("CID_2", 5_000));
+
+        assertThatThrownBy(() -> transactionsService.checkout(userId, cart))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        entityManager.clear();
+        assertThat(userRepository.findById(userId).orElseThrow().getVbucks()).isEqualTo(10_000);
+        assertThat(userComesticRepository.findActiveCosmeticIdsByUserId(userId)).isEmpty();
+    }
+
+    @Test
+    void rejectsARepeatedCartItem() {
+        List<ComesticDTO> cart = List.of(cosmetic("CID_1", 100), cosmetic("CID_1", 100));
+
+        assertThatThrownBy(() -> transactionsService.checkout(userId, cart))
+                .isInstanceOf(InvalidCartException.class);
+    }
+
+    @Test
+    void debitsOnlyWhileTheBalanceCoversThePrice() {
+        assertThat(userRepository.debitVbucks(userId, 10_001)).isZero();
+        assertThat(userRepository.debitVbucks(userId, 10_000)).isEqualTo(1);
+        assertThat(userRepository.debitVbucks(userId, 1)).isZero();
+        assertThat(userRepository.findById(userId).orElseThrow().getVbucks()).isZero();
+    }
+
+    @Test
+    void purchaseFailsOnceTheBalanceRunsOutOrTheItemIsOwned() {
+        assertThat(transactionsService.purchaseCosmetic(userId, cosmetic("CID_1", 10_000)).getVbucks()).isZero();
+        afterCommit();
+
+        assertThatThrownBy(() -> transactionsService.purchaseCosmetic(userId, cosmetic("CID_2", 1)))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThatThrownBy(() -> transactionsService.purchaseCosmetic(userId, cosmetic("CID_1", 1)))
+                .isInstanceOf(ActiveUserException.class);
+    }
+
+    @Test
+    void aStaleOwnershipCacheDoesNotRejectAPurchase() {
+        transactionsService.purchaseCosmetic(userId, cosmetic("CID_1", 1_000));
+        afterCommit();
+        assertThat(userReadCache.activeCosmeticIds(userId)).contains("CID_1");
+
+        // reembolso feito por outra instância: o cache local não recebe o evento
+        UserCosmetic owned = userComesticRepository.findByUserIdAndCosmeticIdAndIsActiveTrue(userId, "CID_1")
+                .orElseThrow();
+        owned.setIsActive(false);
+        userComesticRepository.saveAndFlush(owned);
+
+        assertThat(transactionsService.purchaseCosmetic(userId, cosmetic("CID_1", 1_000)).getVbucks())
+                .isEqualTo(8_000);
+    }
+
+    @Test
+    void refundOfAnUnknownUserIsNotFound() {
+        assertThatThrownBy(() -> transactionsService.refundCosmetic(userId + 1, "CID_1", null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> transactionsService.refundCosmetic(userId, "CID_1", null))
+                .isInstanceOf(ComesticNotFoundException.class);
+    }
+
+    @Test
+    void balanceIsReadFromTheDatabaseNotTheProfileCache() {
+        assertThat(userReadCache.getUser(userId).getVbucks()).isEqualTo(10_000);
+
+        userRepository.debitVbucks(userId, 2_500);
+
+        assertThat(transactionsService.getBalance(userId)).isEqualTo(7_500);
+        assertThatThrownBy(() -> transactionsService.getBalance(userId + 1))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    // a transação do teste nunca é confirmada, então o listener pós-commit do cache precisa ser chamado aqui
+    private void afterCommit() {
+        userReadCache.onUserDataChanged(new UserDataChangedEvent(userId));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private ComesticDTO cosmetic(String id, int price) {
+        return ComesticDTO.builder().id(id).name(id).rarity("Rare").type("Outfit").price(price).build();
+    }
+}
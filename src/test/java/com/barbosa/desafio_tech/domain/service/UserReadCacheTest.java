@@ -0,0 +1,61 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.entities.User;
+import com.barbosa.desafio_tech.domain.mappers.UserMapperImpl;
+import com.barbosa.desafio_tech.domain.repository.UserComesticRepository;
+import com.barbosa.desafio_tech.domain.repository.UserRepository;
+import com.barbosa.desafio_tech.domain.service.serviceException.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserReadCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserComesticRepository userComesticRepository = mock(UserComesticRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserReadCache cache = new UserReadCache(userRepository, userComesticRepository, new UserMapperImpl(),
+            meterRegistry, 100, Duration.ofMinutes(10));
+
+    @Test
+    void servesRepeatedReadsFromMemoryUntilTheUserChanges() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(
+                new User(1L, "cached", "cached@example.com", "secret", 500, 0L, LocalDateTime.now(), null)));
+        when(userComesticRepository.findActiveCosmeticIdsByUserId(1L)).thenReturn(List.of("CID_1"));
+
+        assertThat(cache.getUser(1L).getVbucks()).isEqualTo(500);
+        assertThat(cache.getUser(1L).getVbucks()).isEqualTo(500);
+        assertThat(cache.activeCosmeticIds(1L)).containsExactly("CID_1");
+        assertThat(cache.activeCosmeticIds(1L)).containsExactly("CID_1");
+        verify(userRepository, times(1)).findById(1L);
+        verify(userComesticRepository, times(1)).findActiveCosmeticIdsByUserId(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+
+        cache.onUserDataChanged(new UserDataChangedEvent(1L));
+        cache.getUser(1L);
+        cache.activeCosmeticIds(1L);
+        verify(userRepository, times(2)).findById(1L);
+        verify(userComesticRepository, times(2)).findActiveCosmeticIdsByUserId(1L);
+    }
+
+    @Test
+    void doesNotCacheMissingUsers() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cache.getUser(2L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> cache.getUser(2L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(userRepository, times(2)).findById(2L);
+    }
+}
@@ -0,0 +1,125 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.domain.dto.ComesticDTO;
+import com.barbosa.desafio_tech.domain.dto.UserSummaryDTO;
+import com.barbosa.desafio_tech.domain.entities.TransactionArchive;
+import com.barbosa.desafio_tech.domain.entities.User;
+import com.barbosa.desafio_tech.domain.entities.enums.Type;
+import com.barbosa.desafio_tech.domain.mappers.UserMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import({TransactionsService.class, WalletMutationExecutor.class, UserReadCache.class, UserSummaryService.class,
+        UserMapperImpl.class, SimpleMeterRegistry.class})
+class UserSummaryServiceTest {
+
+    @Autowired
+    private TransactionsService transactionsService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private UserReadCache userReadCache;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User(null, "summary", "summary@example.com", "secret", 10_000, null, LocalDateTime.now(), null);
+        entityManager.persist(user);
+        entityManager.flush();
+        userId = user.getId();
+    }
+
+    @Test
+    void keepsSummaryInStepWithPurchasesAndRefunds() {
+        transactionsService.purchaseCosmetic(userId, cosmetic("CID_1", "Legendary", "Outfit", 1500));
+        transactionsService.checkout(userId, List.of(
+                cosmetic("CID_2", "Rare", "Outfit", 800),
+                cosmetic("CID_3", "Rare", "Emote", 300)));
+        afterCommit();
+        transactionsService.refundCosmetic(userId, "CID_2", null);
+        entityManager.flush();
+        entityManager.clear();
+
+        UserSummaryDTO summary = userSummaryService.getSummary(userId);
+
+        assertThat(summary.getActiveCount()).isEqualTo(2);
+        assertThat(summary.getOwnedByRarity()).isEqualTo(Map.of("Legendary", 1, "Rare", 1));
+        assertThat(summary.getOwnedByType()).isEqualTo(Map.of("Outfit", 1, "Emote", 1));
+        assertThat(summary.getTotalSpent()).isEqualTo(2600);
+        assertThat(summary.getTotalRefunded()).isEqualTo(800);
+        assertThat(summary.getPurchaseCount()).isEqualTo(3);
+        assertThat(summary.getRefundCount()).isEqualTo(1);
+        assertThat(summary.getLastPurchaseAt()).isNotNull();
+    }
+
+    @Test
+    void recomputesTheSameSummaryFromTheLedger() {
+        transactionsService.purchaseCosmetic(userId, cosmetic("CID_1", "Epic", null, 1200));
+        transactionsService.purchaseCosmetic(userId, cosmetic("CID_2", "Epic", "Pickaxe", 500));
+        afterCommit();
+        transactionsService.refundCosmetic(userId, "CID_1", 1000);
+        entityManager.flush();
+        entityManager.clear();
+        UserSummaryDTO incremental = userSummaryService.getSummary(userId);
+
+        userSummaryService.delete(userId);
+        entityManager.flush();
+        entityManager.clear();
+        UserSummaryDTO recomputed = userSummaryService.getSummary(userId);
+
+        assertThat(recomputed).usingRecursiveComparison()
+                .ignoringFields("lastPurchaseAt", "updatedAt")
+                .isEqualTo(incremental);
+        assertThat(recomputed.getOwnedByType()).isEqualTo(Map.of("Pickaxe", 1));
+    }
+
+    @Test
+    void countsArchivedTransactionsWhenRecomputing() {
+        transactionsService.purchaseCosmetic(userId, cosmetic("CID_1", "Rare", "Outfit", 800));
+        entityManager.persist(new TransactionArchive(1_000_000L, userId, Type.PURCHASE, -1200, 8_800, "CID_OLD",
+                LocalDateTime.of(2023, 6, 1, 12, 0)));
+        entityManager.persist(new TransactionArchive(1_000_001L, userId, Type.REFUND, 1200, 10_000, "CID_OLD",
+                LocalDateTime.of(2023, 6, 2, 12, 0)));
+        userSummaryService.delete(userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        UserSummaryDTO recomputed = userSummaryService.getSummary(userId);
+
+        assertThat(recomputed.getTotalSpent()).isEqualTo(2000);
+        assertThat(recomputed.getTotalRefunded()).isEqualTo(1200);
+        assertThat(recomputed.getPurchaseCount()).isEqualTo(2);
+        assertThat(recomputed.getRefundCount()).isEqualTo(1);
+        assertThat(recomputed.getActiveCount()).isEqualTo(1);
+    }
+
+    // a transação do teste nunca é confirmada, então o listener pós-commit do cache precisa ser chamado aqui
+    private void afterCommit() {
+        userReadCache.onUserDataChanged(new UserDataChangedEvent(userId));
+    }
+
+    private ComesticDTO cosmetic(String id, String rarity, String type, int price) {
+        return ComesticDTO.builder().id(id).name(id).rarity(rarity).type(type).price(price).build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.barbosa.desafio_tech.domain.service;
+
+import com.barbosa.desafio_tech.config.DatabaseAdmissionControl;
+import com.barbosa.desafio_tech.domain.service.serviceException.WalletBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class WalletMutationExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WalletMutationExecutor executor = new WalletMutationExecutor(
+            mock(PlatformTransactionManager.class), meterRegistry, Optional.empty(), 16, Duration.ofMillis(200));
+
+    @Test
+    void serializesMutationsOfTheSameUser() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 40; i++) {
+                pool.submit(() -> executor.execute(1L, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    running.decrementAndGet();
+                    return null;
+                }));
+            }
+        } finally {
+            pool.shutdown();
+            assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("wallet.mutations.wait").timer().count()).isEqualTo(40);
+    }
+
+    @Test
+    void letsOtherUsersProceedAndTimesOutOnABusyWallet() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> owner = pool.submit(() -> executor.execute(1L, () -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            holding.await();
+
+            assertThat(executor.execute(2L, () -> "ok")).isEqualTo("ok");
+            assertThatThrownBy(() -> executor.execute(1L, () -> "late")).isInstanceOf(WalletBusyException.class);
+
+            release.countDown();
+            owner.get(1, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void takesTheDatabaseSlotOnlyAfterTheLock() throws Exception {
+        // limite de carteira começa em 2: o dono do lock ocupa uma vaga e quem espera pelo lock não ocupa a outra
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DatabaseAdmissionControl admissionControl = new DatabaseAdmissionControl(meterRegistry, 8, 0.5, 1, 2.0, 0.9, 100,
+                Duration.ofMillis(50), Duration.ofSeconds(1));
+        WalletMutationExecutor admitted = new WalletMutationExecutor(mock(PlatformTransactionManager.class), meterRegistry,
+                Optional.of(admissionControl), 16, Duration.ofSeconds(5));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> owner = pool.submit(() -> admitted.execute(1L, () -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            holding.await();
+            Future<String> queued = pool.submit(() -> admitted.execute(1L, () -> "queued"));
+            while (meterRegistry.get("wallet.mutations.queued").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThat(meterRegistry.get("db.limiter.in-flight").tag("budget", "wallet").gauge().value()).isEqualTo(1);
+            assertThat(admitted.execute(2L, () -> "ok")).isEqualTo("ok");
+
+            release.countDown();
+            owner.get(1, TimeUnit.SECONDS);
+            assertThat(queued.get(1, TimeUnit.SECONDS)).isEqualTo("queued");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}